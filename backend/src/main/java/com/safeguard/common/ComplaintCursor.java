@@ -0,0 +1,91 @@
+package com.safeguard.common;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 민원 목록 키셋(seek) 페이지네이션용 커서
+ * - 마지막으로 조회한 행의 (정렬 키, complaint_no)를 불투명 토큰으로 인코딩한다.
+ * - 정렬 기준/방향이 함께 기록되므로 다른 정렬 조건의 커서를 재사용하면 거부된다.
+ */
+@Getter
+public class ComplaintCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private final String sort;
+    private final String order;
+    private final String sortKey; // complaint_no 정렬이면 null
+    private final Long complaintNo;
+
+    public ComplaintCursor(String sort, String order, String sortKey, Long complaintNo) {
+        this.sort = normalizeSort(sort);
+        this.order = normalizeOrder(order);
+        this.sortKey = sortKey;
+        this.complaintNo = complaintNo;
+    }
+
+    /**
+     * 지원 정렬 기준: complaint_no(기본), created_date, likeCount
+     */
+    public static String normalizeSort(String sort) {
+        if ("created_date".equals(sort) || "likeCount".equals(sort)) {
+            return sort;
+        }
+        return "complaint_no";
+    }
+
+    public static String normalizeOrder(String order) {
+        return "ASC".equals(order) ? "ASC" : "DESC";
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sort, order,
+                sortKey != null ? sortKey : "", String.valueOf(complaintNo));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰을 해석한다. 형식이 잘못되었거나 정렬 조건이 다르면 IllegalArgumentException
+     */
+    public static ComplaintCursor decode(String token, String sort, String order) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        if (!parts[1].equals(normalizeSort(sort)) || !parts[2].equals(normalizeOrder(order))) {
+            throw new IllegalArgumentException("정렬 조건이 커서와 일치하지 않습니다.");
+        }
+
+        try {
+            ComplaintCursor cursor = new ComplaintCursor(parts[1], parts[2],
+                    parts[3].isEmpty() ? null : parts[3], Long.parseLong(parts[4]));
+            // 정렬 키 형식 검증 (SQL 바인딩 전에 실패시키기 위함)
+            cursor.getCreatedDateKey();
+            cursor.getLikeCountKey();
+            return cursor;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public OffsetDateTime getCreatedDateKey() {
+        return ("created_date".equals(sort) && sortKey != null) ? OffsetDateTime.parse(sortKey) : null;
+    }
+
+    public Integer getLikeCountKey() {
+        return ("likeCount".equals(sort) && sortKey != null) ? Integer.valueOf(sortKey) : null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.safeguard.common;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * PostgreSQL 트랜잭션 스냅샷 (txid_current_snapshot() 의 "xmin:xmax:xip,..." 표현)
+ *
+ * DB 기준 재구성(쿼리)과 커밋 이후 이벤트를 맞출 때 쓴다.
+ * 이벤트를 발행한 트랜잭션 번호(txid_current())가 스냅샷에 보이면 그 변경은 쿼리 결과에 이미 포함되어 있다.
+ */
+public record TxSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+    public static TxSnapshot parse(String text) {
+        String[] parts = text.split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("잘못된 트랜잭션 스냅샷: " + text);
+        }
+        Set<Long> inProgress = new HashSet<>();
+        if (!parts[2].isEmpty()) {
+            for (String xip : parts[2].split(",")) {
+                inProgress.add(Long.parseLong(xip));
+            }
+        }
+        return new TxSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Set.copyOf(inProgress));
+    }
+
+    /**
+     * 커밋된 트랜잭션 txid 의 변경이 이 스냅샷에 보이는지 (txid_visible_in_snapshot 과 같은 규칙)
+     * - txid 가 null 이면(트랜잭션 밖 변경) 알 수 없으므로 false
+     */
+    public boolean sees(Long txid) {
+        if (txid == null) {
+            return false;
+        }
+        if (txid < xmin) {
+            return true;
+        }
+        return txid < xmax && !inProgress.contains(txid);
+    }
+}
@@ -0,0 +1,74 @@
+package com.safeguard.config;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedTypes;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ByteOrderValues;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * JTS Geometry ↔ PostGIS EWKB(바이너리) 타입 핸들러 (Geometry 기본 핸들러)
+ * - 저장: SRID 포함 EWKB 바이트로 전송 → SQL 에서 ST_GeomFromEWKB(#{geom}) 로 사용
+ * - 조회: geometry 컬럼(16진 EWKB 텍스트) 또는 ST_AsEWKB 결과(bytea) 모두 처리
+ * - WKB reader/writer 는 스레드마다 재사용 (WKT 문자열 변환 없이 좌표 정밀도 그대로 유지)
+ * - SRID 가 없는 도형은 서비스 공통 좌표계(4326)로 기록한다.
+ */
+@MappedTypes(Geometry.class)
+public class WkbGeometryTypeHandler extends BaseTypeHandler<Geometry> {
+
+    private static final int DEFAULT_SRID = 4326;
+
+    private static final ThreadLocal<WKBWriter> WRITER = ThreadLocal
+            .withInitial(() -> new WKBWriter(2, ByteOrderValues.LITTLE_ENDIAN, true));
+    private static final ThreadLocal<WKBReader> READER = ThreadLocal.withInitial(WKBReader::new);
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Geometry parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setBytes(i, toEwkb(parameter));
+    }
+
+    @Override
+    public Geometry getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return parseGeometry(rs.getObject(columnName));
+    }
+
+    @Override
+    public Geometry getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return parseGeometry(rs.getObject(columnIndex));
+    }
+
+    @Override
+    public Geometry getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return parseGeometry(cs.getObject(columnIndex));
+    }
+
+    static byte[] toEwkb(Geometry geometry) {
+        if (geometry.getSRID() == 0) {
+            geometry = geometry.copy();
+            geometry.setSRID(DEFAULT_SRID);
+        }
+        return WRITER.get().write(geometry);
+    }
+
+    static Geometry parseGeometry(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        // bytea(ST_AsEWKB) 는 byte[], geometry 컬럼은 16진 EWKB 텍스트(PGobject/String)
+        byte[] bytes = (value instanceof byte[] b) ? b : WKBReader.hexToBytes(value.toString());
+        try {
+            return READER.get().read(bytes);
+        } catch (ParseException e) {
+            throw new SQLException("EWKB 도형 변환 실패", e);
+        }
+    }
+}
@@ -5,8 +5,10 @@ import com.safeguard.dto.ComplaintStatsDTO;
 import com.safeguard.dto.UserDTO;
 import com.safeguard.enums.UserRole;
 import com.safeguard.mapper.ComplaintMapper;
-import com.safeguard.mapper.UserMapper;
 import com.safeguard.security.CustomUserDetails;
+import com.safeguard.security.PrincipalResolver;
+import com.safeguard.service.ComplaintDetailCache;
+import com.safeguard.service.DashboardStreamService;
 import com.safeguard.service.ComplaintService;
 import com.safeguard.service.FileService;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -33,14 +35,20 @@ import java.util.Map;
 public class ComplaintController {
 
     private final ComplaintMapper complaintMapper;
-    private final UserMapper userMapper;
+    private final PrincipalResolver principalResolver;
     private final PasswordEncoder passwordEncoder;
     private final ComplaintService complaintService;
+    private final ComplaintDetailCache complaintDetailCache;
+    private final DashboardStreamService dashboardStreamService;
     private final FileService fileService;
     private final ObjectMapper objectMapper;
 
     /**
      * 민원 목록 조회 (페이징, 검색, 필터링 기능 제공)
+     * - cursor 파라미터가 있으면(빈 값 = 첫 페이지) 키셋 페이징, 없으면 기존 page/offset 페이징
+     * - count: 커서 모드의 전체 개수 조회 방식 (exact / estimate / none)
+     * - sort=relevance: 검색어(search)가 있을 때 트라이그램 유사도 순 정렬 (page/offset 모드 전용)
+     *   유사도 임계값(pg_trgm.word_similarity_threshold) 미만인 부분 일치는 제외
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getComplaints(
@@ -52,7 +60,9 @@ public class ComplaintController {
             @RequestParam(defaultValue = "false") boolean myAgencyOnly,
             @RequestParam(defaultValue = "complaint_no") String sort,
             @RequestParam(defaultValue = "DESC") String order,
-            @RequestParam(required = false) String region) {
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "estimate") String count) {
 
         // 로그인한 기관 사용자인 경우 해당 기관의 민원만 필터링하도록 agencyNo 확보
         Long agencyNo = null;
@@ -61,7 +71,7 @@ public class ComplaintController {
 
         if (auth != null && auth.isAuthenticated()
                 && !"anonymousUser".equals(auth.getPrincipal())) {
-            UserDTO user = userMapper.findByUserId(auth.getName()).orElse(null);
+            UserDTO user = principalResolver.findByUserId(auth.getName()).orElse(null);
             if (user != null && user.getRole() == UserRole.AGENCY) {
                 if (myAgencyOnly) {
                     agencyNo = user.getAgencyNo();
@@ -69,8 +79,6 @@ public class ComplaintController {
             }
         }
 
-        int offset = (page - 1) * limit;
-
         Map<String, Object> params = new HashMap<>();
         params.put("search", search);
         params.put("category", category);
@@ -80,6 +88,13 @@ public class ComplaintController {
         params.put("order", order);
         params.put("agencyNo", agencyNo); // myAgencyOnly=true 인 경우만 값 존재
         params.put("limit", limit);
+
+        // 커서 모드: OFFSET 스캔 없이 마지막 행 이후부터 조회
+        if (cursor != null) {
+            return ResponseEntity.ok(complaintService.getComplaintsByCursor(params, cursor, count));
+        }
+
+        int offset = (page - 1) * limit;
         params.put("offset", offset);
 
         // 페이징 처리된 목록과 전체 개수 조회
@@ -114,7 +129,7 @@ public class ComplaintController {
         Long agencyNo = null;
 
         if (userDetails != null) {
-            UserDTO userDto = userMapper.findByUserId(userDetails.getUsername()).orElse(null);
+            UserDTO userDto = principalResolver.findByUserId(userDetails.getUsername()).orElse(null);
             if (userDto != null) {
                 role = (userDto.getRole() != null) ? userDto.getRole().name() : null;
                 agencyNo = userDto.getAgencyNo();
@@ -169,6 +184,7 @@ public class ComplaintController {
 
         // 카운트 최신화 및 재조회
         complaintMapper.updateComplaintLikeCount(id);
+        complaintDetailCache.evict(id);
         ComplaintDTO updated = complaintMapper.findByComplaintNo(id, userNo, null)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Complaint not found"));
 
@@ -207,7 +223,7 @@ public class ComplaintController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        UserDTO user = userMapper.findByUserId(userDetails.getUsername())
+        UserDTO user = principalResolver.findByUserId(userDetails.getUsername())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
 
         try {
@@ -239,7 +255,7 @@ public class ComplaintController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        UserDTO user = userMapper.findByUserId(userDetails.getUsername())
+        UserDTO user = principalResolver.findByUserId(userDetails.getUsername())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
 
         try {
@@ -269,7 +285,7 @@ public class ComplaintController {
         }
 
         Long userNo = userDetails.getUserNo();
-        UserDTO userDto = userMapper.findByUserId(userDetails.getUsername()).orElse(null);
+        UserDTO userDto = principalResolver.findByUserId(userDetails.getUsername()).orElse(null);
 
         if (userDto == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -315,7 +331,7 @@ public class ComplaintController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        UserDTO user = userMapper.findByUserId(userDetails.getUsername()).orElse(null);
+        UserDTO user = principalResolver.findByUserId(userDetails.getUsername()).orElse(null);
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -345,11 +361,50 @@ public class ComplaintController {
             @RequestParam(required = false) String category,
             @RequestParam(defaultValue = "MONTH") String timeBasis) {
 
+        Long agencyNo = resolveDashboardAgencyNo();
+
+        Map<String, Object> stats = complaintService.getDashboardStats(agencyNo, category, timeBasis);
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * 관리자 대시보드 실시간 스트림 (SSE)
+     * - 최초 snapshot 이후 변경된 섹션만 delta 로 전송 (폴링 대체)
+     * - EventSource 는 헤더를 보낼 수 없으므로 token 을 쿼리로 받는다.
+     */
+    @GetMapping(value = "/stats/dashboard/stream", produces = org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE)
+    public org.springframework.web.servlet.mvc.method.annotation.SseEmitter streamDashboardStats(
+            @RequestParam(required = false) String token,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "MONTH") String timeBasis) {
+        return dashboardStreamService.subscribe(token, category, timeBasis);
+    }
+
+    /**
+     * 민원 트렌드 조회 (임의 기간/단위)
+     * - timeBasis: YEAR, MONTH, WEEK, DAY, HOUR
+     * - from/to: yyyy-MM-dd (둘 다 포함, 미지정 시 단위별 기본 기간)
+     */
+    @GetMapping("/stats/trend")
+    public ResponseEntity<List<Map<String, Object>>> getComplaintTrend(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "MONTH") String timeBasis,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate from,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate to) {
+
+        Long agencyNo = resolveDashboardAgencyNo();
+        return ResponseEntity.ok(complaintService.getComplaintTrend(agencyNo, category, timeBasis, from, to));
+    }
+
+    /**
+     * 대시보드 통계 범위 결정 - AGENCY 계정이면 소속 기관으로 한정, 그 외에는 전체(null)
+     */
+    private Long resolveDashboardAgencyNo() {
         Long agencyNo = null;
         var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
 
         if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
-            UserDTO user = userMapper.findByUserId(auth.getName()).orElse(null);
+            UserDTO user = principalResolver.findByUserId(auth.getName()).orElse(null);
             log.info("Dashboard Auth Check - User: {}, Role: {}, AgencyNo: {}",
                     auth.getName(),
                     (user != null ? user.getRole() : "null"),
@@ -361,9 +416,7 @@ public class ComplaintController {
         } else {
             log.info("Dashboard Auth Check - Unauthenticated or Anonymous");
         }
-
-        Map<String, Object> stats = complaintService.getDashboardStats(agencyNo, category, timeBasis);
-        return ResponseEntity.ok(stats);
+        return agencyNo;
     }
 
     /**
@@ -398,7 +451,7 @@ public class ComplaintController {
 
         if (auth != null && auth.isAuthenticated()
                 && !"anonymousUser".equals(auth.getPrincipal())) {
-            UserDTO user = userMapper.findByUserId(auth.getName()).orElse(null);
+            UserDTO user = principalResolver.findByUserId(auth.getName()).orElse(null);
             if (user != null && user.getRole() == UserRole.AGENCY) {
                 agencyNo = user.getAgencyNo();
             }
@@ -427,7 +480,7 @@ public class ComplaintController {
         if (auth != null && auth.isAuthenticated()
                 && !"anonymousUser".equals(auth.getPrincipal())) {
 
-            UserDTO user = userMapper.findByUserId(auth.getName()).orElse(null);
+            UserDTO user = principalResolver.findByUserId(auth.getName()).orElse(null);
             if (user != null && user.getRole() == UserRole.AGENCY) {
                 agencyNo = user.getAgencyNo();
             }
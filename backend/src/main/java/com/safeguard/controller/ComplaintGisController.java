@@ -13,14 +13,15 @@ import java.util.List;
 public class ComplaintGisController {
 
     private final ComplaintGisService complaintGisService;
-    private final com.safeguard.mapper.UserMapper userMapper;
+    private final com.safeguard.service.MapTileService mapTileService;
+    private final com.safeguard.security.PrincipalResolver principalResolver;
 
     private void enforceAgency(MapSearchRequest req) {
         org.springframework.security.core.Authentication auth = org.springframework.security.core.context.SecurityContextHolder
                 .getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !auth.getPrincipal().equals("anonymousUser")) {
             String userId = auth.getName();
-            com.safeguard.dto.UserDTO currentUser = userMapper.findByUserId(userId).orElse(null);
+            com.safeguard.dto.UserDTO currentUser = principalResolver.findByUserId(userId).orElse(null);
             if (currentUser != null) {
                 // AGENCY 역할인 경우, 프론트엔드에서 agencyNo를 보냈을 때(내 담당민원 토글 On)만 본인 기관으로 필터링.
                 // 보내지 않았다면(null 상태) 모든 민원 노출을 허용함.
@@ -46,6 +47,20 @@ public class ComplaintGisController {
         return complaintGisService.getMapItems(req);
     }
 
+    /**
+     * 지도 이동 시 차분 응답 (직전 bounds + 직전 응답 version 전달)
+     *
+     * 호출 예:
+     * /api/gis/map-items/delta?swLat=..&swLng=..&neLat=..&neLng=..
+     *     &prevSwLat=..&prevSwLng=..&prevNeLat=..&prevNeLng=..&sinceVersion=123
+     * (직전 정보가 없거나 변경 이력이 만료되면 full=true 로 전체 응답)
+     */
+    @GetMapping("/map-items/delta")
+    public MapDeltaDto mapItemsDelta(@ModelAttribute MapSearchRequest req) {
+        enforceAgency(req);
+        return complaintGisService.getMapItemsDelta(req);
+    }
+
     /**
      * PostGIS ST_HexagonGrid 기반 핫스팟 데이터
      */
@@ -55,6 +70,50 @@ public class ComplaintGisController {
         return complaintGisService.getHotspots(req);
     }
 
+    /**
+     * 핫스팟 셀 번호 + 건수 (정점 없이 전달, 형상은 클라이언트에서 계산)
+     */
+    @GetMapping("/hotspot-cells")
+    public List<HotspotCellDto> hotspotCells(@ModelAttribute MapSearchRequest req) {
+        enforceAgency(req);
+        return complaintGisService.getHotspotCells(req);
+    }
+
+    /**
+     * 벡터 타일(MVT) - complaints(포인트), hotspots(육각 셀), districts(시군구 경계/건수) 레이어
+     * - complaints 는 map.tiles.point-min-zoom 이상, districts 는 map.tiles.district-max-zoom 이하에서만 포함
+     *
+     * 호출 예:
+     * /api/gis/tiles/12/3493/1586.mvt?category=...&status=...&showCompleted=false
+     * (bounds 파라미터는 무시하고 타일 범위로 조회)
+     */
+    @GetMapping(value = "/tiles/{z}/{x}/{y}.mvt", produces = "application/vnd.mapbox-vector-tile")
+    public org.springframework.http.ResponseEntity<byte[]> tile(
+            @PathVariable int z, @PathVariable int x, @PathVariable int y,
+            @ModelAttribute MapSearchRequest req,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        enforceAgency(req);
+        com.safeguard.service.MapTileService.Tile tile = mapTileService.getTile(z, x, y, req);
+
+        // enforceAgency 가 로그인 사용자(AGENCY)마다 agencyNo 를 바꾸므로 같은 URL 이라도 본문이 다를 수 있다.
+        // → 공유 캐시(nginx/CDN)에 저장되지 않도록 private, 브라우저 캐시도 인증 헤더별로 구분
+        org.springframework.http.CacheControl cacheControl = org.springframework.http.CacheControl
+                .maxAge(java.time.Duration.ofSeconds(30)).cachePrivate();
+        if (tile.etag().equals(ifNoneMatch)) {
+            return org.springframework.http.ResponseEntity.status(org.springframework.http.HttpStatus.NOT_MODIFIED)
+                    .eTag(tile.etag())
+                    .cacheControl(cacheControl)
+                    .varyBy(org.springframework.http.HttpHeaders.AUTHORIZATION)
+                    .build();
+        }
+        return org.springframework.http.ResponseEntity.ok()
+                .eTag(tile.etag())
+                .cacheControl(cacheControl)
+                .varyBy(org.springframework.http.HttpHeaders.AUTHORIZATION)
+                .contentType(org.springframework.http.MediaType.parseMediaType("application/vnd.mapbox-vector-tile"))
+                .body(tile.data());
+    }
+
     /**
      * 시군구별 민원 건수 (Choropleth용)
      */
@@ -65,17 +124,20 @@ public class ComplaintGisController {
     }
 
     /**
-     * 오른쪽 목록(페이지네이션)
+     * 오른쪽 목록 (키셋 페이지네이션, 등록일 내림차순)
+     * - cursor: 이전 응답의 nextCursor (없으면 첫 페이지)
+     * - count: 전체 건수 조회 방식 (estimate: 추정/상한, exact: 정확, none: 생략)
      *
      * 호출 예:
-     * /api/gis/complaints?swLat=..&swLng=..&neLat=..&neLng=..&page=0&size=20
+     * /api/gis/complaints?swLat=..&swLng=..&neLat=..&neLng=..&size=20&cursor=...
      */
     @GetMapping("/complaints")
     public PageResponse<ComplaintListItemDto> list(
             @ModelAttribute MapSearchRequest req,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "estimate") String count) {
         enforceAgency(req);
-        return complaintGisService.listComplaints(req, page, size);
+        return complaintGisService.listComplaints(req, cursor, size, count);
     }
 }
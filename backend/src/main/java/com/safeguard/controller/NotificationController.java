@@ -20,9 +20,25 @@ public class NotificationController {
     private final NotificationService notificationService;
     private final JwtTokenProvider jwtTokenProvider;
 
+    /**
+     * 알림 스트림 구독
+     * - 브라우저 EventSource 자동 재연결 시 Last-Event-ID 헤더, 새로 연결할 때는 lastEventId 파라미터로
+     *   마지막으로 받은 이벤트 id(알림 전송 순번)를 보내면 그 이후 알림을 먼저 다시 보낸다.
+     */
     @GetMapping("/subscribe")
-    public SseEmitter subscribe(@RequestParam String token) {
-        return notificationService.subscribe(token);
+    public SseEmitter subscribe(@RequestParam String token,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        String last = lastEventIdHeader != null && !lastEventIdHeader.isBlank() ? lastEventIdHeader : lastEventId;
+        Long lastNo = null;
+        if (last != null && !last.isBlank()) {
+            try {
+                lastNo = Long.parseLong(last.trim());
+            } catch (NumberFormatException e) {
+                // 형식이 다르면 재전송 없이 새 연결로 처리
+            }
+        }
+        return notificationService.subscribe(token, lastNo);
     }
 
     @GetMapping
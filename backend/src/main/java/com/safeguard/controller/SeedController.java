@@ -29,6 +29,9 @@ public class SeedController {
     private final ComplaintMapper complaintMapper;
     private final UserMapper userMapper;
     private final com.safeguard.mapper.AgencyMapper agencyMapper;
+    private final com.safeguard.service.ComplaintDetailCache complaintDetailCache;
+    private final com.safeguard.service.ReverseGeocoder reverseGeocoder;
+    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
     private final PasswordEncoder passwordEncoder;
     private final JdbcTemplate jdbcTemplate;
 
@@ -159,6 +162,8 @@ public class SeedController {
     public ResponseEntity<Map<String, String>> resetData() {
         complaintMapper.deleteAllLikes();
         complaintMapper.deleteAllComplaints();
+        complaintDetailCache.evictAll();
+        eventPublisher.publishEvent(new com.safeguard.event.ComplaintBulkChangeEvent("seed-reset"));
         return ResponseEntity.ok(Map.of("message", "All data deleted"));
     }
 
@@ -298,11 +303,17 @@ public class SeedController {
                 }
             }
 
+            // 주소가 없으면 좌표의 정규화 주소(시도 + 시군구)
+            String address = request.getAddress();
+            if ((address == null || address.isBlank()) && request.getLatitude() != null) {
+                address = reverseGeocoder.reverse(request.getLongitude(), request.getLatitude()).normalized();
+            }
+
             ComplaintDTO complaint = ComplaintDTO.builder()
                     .title(request.getTitle())
                     .content(request.getDescription())
                     .category(request.getCategory())
-                    .address(request.getAddress())
+                    .address(address)
                     .latitude(request.getLatitude())
                     .longitude(request.getLongitude())
                     .imagePath(request.getImagePath())
@@ -320,6 +331,7 @@ public class SeedController {
                     .build();
 
             complaintMapper.insertComplaintDto(complaint);
+            eventPublisher.publishEvent(new com.safeguard.event.ComplaintBulkChangeEvent("seed"));
             log.info("[Seed] Created complaint #{} for user {}, agency: {}",
                     complaint.getComplaintNo(), user.getUserId(), request.getAgencyNo());
 
@@ -442,7 +454,6 @@ public class SeedController {
 
             // 2. Create Complaints
             String[] categories = { "도로", "불법주차", "청소", "시설", "안전", "교통", "건축" };
-            String[] districts = { "강남구", "서초구", "송파구", "마포구", "종로구", "동작구", "영등포구" };
 
             // Get Agencies for mapping
             List<Agency> agencies = agencyMapper.selectAgencyList();
@@ -451,10 +462,18 @@ public class SeedController {
                 agencies = agencyMapper.selectAgencyList();
             }
 
+            // 좌표를 먼저 만들고 주소는 일괄 역지오코딩으로 결정 (좌표와 주소의 시군구 일치)
+            List<double[]> points = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                points.add(new double[] { 127.0 + (random.nextDouble() * 0.1), 37.5 + (random.nextDouble() * 0.1) });
+            }
+            List<com.safeguard.service.ReverseGeocoder.Address> addresses = reverseGeocoder.reverseAll(points);
+
             for (int i = 0; i < 500; i++) {
                 UserDTO randomUser = users.get(random.nextInt(users.size()));
                 String category = categories[random.nextInt(categories.length)];
-                String district = districts[random.nextInt(districts.length)];
+                com.safeguard.service.ReverseGeocoder.Address address = addresses.get(i);
+                String district = address.isFound() ? address.districtName() : "서울";
 
                 // Random Status
                 com.safeguard.enums.ComplaintStatus status;
@@ -482,9 +501,9 @@ public class SeedController {
                         .title(category + " 민원 요청 " + i)
                         .content("민원 내용입니다. " + district + " 지역.")
                         .category(category)
-                        .address("서울특별시 " + district)
-                        .latitude(37.5 + (random.nextDouble() * 0.1))
-                        .longitude(127.0 + (random.nextDouble() * 0.1))
+                        .address(address.isFound() ? address.normalized() : "서울특별시")
+                        .latitude(points.get(i)[1])
+                        .longitude(points.get(i)[0])
                         .status(status)
                         .createdDate(createdDate)
                         .completedDate(completedDate)
@@ -499,6 +518,7 @@ public class SeedController {
                 complaintMapper.insertComplaintDto(complaint);
                 complaintCount++;
             }
+            eventPublisher.publishEvent(new com.safeguard.event.ComplaintBulkChangeEvent("seed"));
 
             return ResponseEntity.ok(Map.of(
                     "message", "Bulk seed completed",
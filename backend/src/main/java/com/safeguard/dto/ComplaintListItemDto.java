@@ -2,10 +2,14 @@ package com.safeguard.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.time.OffsetDateTime;
 
 @Getter
+@Setter
+@NoArgsConstructor
 @AllArgsConstructor
 public class ComplaintListItemDto {
     private Long complaintNo;
@@ -15,7 +19,7 @@ public class ComplaintListItemDto {
     private OffsetDateTime createdDate;
 
     private String address;
-    private String adminCode;
+    private String adminCode; // 시군구 코드 (district_code)
     private Double lat;
     private Double lng;
     private String imagePath;
@@ -0,0 +1,25 @@
+package com.safeguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 핫스팟 육각 셀 (정점 목록 없이 셀 식별자 + 건수만 전달)
+ * - 셀 형상은 ST_HexagonGrid 와 같은 규칙으로 클라이언트에서 계산:
+ *   중심 x = 1.5 * size * i, y = √3 * size * (j + (i 가 홀수면 0.5)), 정점은 중심에서 반지름 size (flat-top)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotspotCellDto {
+    private String cellId; // "i_j"
+    private Long i;
+    private Long j;
+    private Double size; // 셀 크기 (도)
+    private Double lat; // 셀 중심
+    private Double lng;
+    private Long count;
+}
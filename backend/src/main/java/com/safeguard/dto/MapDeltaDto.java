@@ -0,0 +1,25 @@
+package com.safeguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 지도 뷰포트 델타 응답 (/api/gis/map-items/delta)
+ * - full=true: 클라이언트는 보유 마커를 모두 버리고 added 로 교체
+ * - full=false: added 는 추가/갱신(upsert), removed 는 제거할 민원 번호
+ * - version 은 다음 요청의 sinceVersion 으로 그대로 전달
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapDeltaDto {
+    private long version;
+    private boolean full;
+    private List<MapItemDto> added;
+    private List<Long> removed;
+}
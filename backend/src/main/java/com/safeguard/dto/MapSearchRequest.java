@@ -24,6 +24,15 @@ public class MapSearchRequest {
     private OffsetDateTime to;
 
     private Integer limit;
+    private String sampling; // 마커 선택 방식 (grid: 격자 셀별 대표 샘플링, latest: 최신순) - 없으면 서버 기본값
     private Long agencyNo;
     private Boolean showCompleted; // [추가] 완료 민원 포함 여부
+    private Boolean cluster; // 서버 클러스터링 사용 여부 (true 면 줌/밀집도에 따라 CLUSTER 아이템 반환)
+
+    // 뷰포트 델타(/map-items/delta): 직전 요청의 bounds 와 응답 version
+    private Double prevSwLat;
+    private Double prevSwLng;
+    private Double prevNeLat;
+    private Double prevNeLng;
+    private Long sinceVersion;
 }
@@ -1,5 +1,6 @@
 package com.safeguard.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,7 @@ public class NotificationDTO {
     private String message;
     private Boolean isRead;
     private LocalDateTime createdAt;
+
+    @JsonIgnore
+    private Long dispatchSeq; // 전송 순번 (SSE 이벤트 id, 서버 내부용)
 }
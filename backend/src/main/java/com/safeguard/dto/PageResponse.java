@@ -5,11 +5,18 @@ import lombok.Getter;
 
 import java.util.List;
 
+/**
+ * 키셋(커서) 페이지 응답
+ * - nextCursor: 다음 페이지 요청의 cursor (마지막 페이지면 null)
+ * - totalElements: count=none 이면 null, totalExact=false 면 추정치
+ */
 @Getter
 @AllArgsConstructor
 public class PageResponse<T> {
     private List<T> content;
-    private int page;
     private int size;
-    private long totalElements;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+    private boolean totalExact;
 }
@@ -23,4 +23,5 @@ public class UserDTO {
     private com.safeguard.enums.UserRole role; // USER, ADMIN, AGENCY
     private Long agencyNo;
     private String agencyName;
+    private Integer tokenVersion; // JWT 폐기 기준 (토큰 클레임 tv 와 비교)
 }
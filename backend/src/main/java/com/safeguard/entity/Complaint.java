@@ -28,4 +28,5 @@ public class Complaint {
     private String address;
     private Double latitude;
     private Double longitude;
+    private Integer districtCode;
 }
\ No newline at end of file
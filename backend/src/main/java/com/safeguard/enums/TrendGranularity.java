@@ -0,0 +1,76 @@
+package com.safeguard.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 민원 트렌드 집계 단위
+ * - unit: PostgreSQL date_trunc 단위 (SQL 버킷과 Java 0-채움 버킷을 같은 기준으로 맞춘다)
+ * - label: 응답의 "month" 키에 들어가는 표기 (기존 YEAR/MONTH/DAY 표기 유지)
+ * - defaultBuckets: 기간 미지정 시 최근 N 버킷
+ */
+public enum TrendGranularity {
+    YEAR("year", ChronoUnit.YEARS, "yyyy", 5),
+    MONTH("month", ChronoUnit.MONTHS, "yyyy-MM", 6),
+    WEEK("week", ChronoUnit.WEEKS, "yyyy-MM-dd", 12),
+    DAY("day", ChronoUnit.DAYS, "MM-dd", 14),
+    HOUR("hour", ChronoUnit.HOURS, "MM-dd HH:00", 24);
+
+    private final String unit;
+    private final ChronoUnit step;
+    private final DateTimeFormatter label;
+    private final int defaultBuckets;
+
+    TrendGranularity(String unit, ChronoUnit step, String labelPattern, int defaultBuckets) {
+        this.unit = unit;
+        this.step = step;
+        this.label = DateTimeFormatter.ofPattern(labelPattern);
+        this.defaultBuckets = defaultBuckets;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public int getDefaultBuckets() {
+        return defaultBuckets;
+    }
+
+    /**
+     * date_trunc(unit, t) 와 동일한 버킷 시작 시각 (WEEK 는 ISO 기준 월요일)
+     */
+    public LocalDateTime truncate(LocalDateTime t) {
+        return switch (this) {
+            case YEAR -> t.toLocalDate().withDayOfYear(1).atStartOfDay();
+            case MONTH -> t.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            case WEEK -> t.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case DAY -> t.toLocalDate().atStartOfDay();
+            case HOUR -> t.truncatedTo(ChronoUnit.HOURS);
+        };
+    }
+
+    public LocalDateTime plus(LocalDateTime bucket, long amount) {
+        return bucket.plus(amount, step);
+    }
+
+    public String format(LocalDateTime bucket) {
+        return label.format(bucket);
+    }
+
+    /**
+     * 요청 파라미터 → 집계 단위 (미지정/알 수 없는 값은 기존 동작대로 MONTH)
+     */
+    public static TrendGranularity from(String value) {
+        if (value == null || value.isBlank()) {
+            return MONTH;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return MONTH;
+        }
+    }
+}
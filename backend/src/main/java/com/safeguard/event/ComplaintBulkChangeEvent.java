@@ -0,0 +1,8 @@
+package com.safeguard.event;
+
+/**
+ * 개별 이벤트로 추적할 수 없는 민원 일괄 변경 (데이터 초기화, 시드 생성, 회원 탈퇴 등)
+ * - 메모리 집계/인덱스는 이 이벤트를 받으면 전체를 다시 적재한다.
+ */
+public record ComplaintBulkChangeEvent(String reason) {
+}
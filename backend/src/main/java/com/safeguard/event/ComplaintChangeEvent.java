@@ -0,0 +1,32 @@
+package com.safeguard.event;
+
+/**
+ * 민원 생성/수정/삭제 이벤트
+ * - ComplaintServiceImpl 에서 발행하며, 수신 측은 커밋 이후(@TransactionalEventListener) 처리한다.
+ * - before 는 생성 시 null, after 는 삭제 시 null
+ * - txid 는 변경한 트랜잭션 번호 (DB 재구성 중 들어온 이벤트가 재구성 쿼리에 이미 반영됐는지 판단, TxSnapshot)
+ */
+public record ComplaintChangeEvent(Type type, ComplaintSnapshot before, ComplaintSnapshot after, Long txid) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ComplaintChangeEvent created(ComplaintSnapshot after, Long txid) {
+        return new ComplaintChangeEvent(Type.CREATED, null, after, txid);
+    }
+
+    public static ComplaintChangeEvent updated(ComplaintSnapshot before, ComplaintSnapshot after, Long txid) {
+        return new ComplaintChangeEvent(Type.UPDATED, before, after, txid);
+    }
+
+    public static ComplaintChangeEvent deleted(ComplaintSnapshot before, Long txid) {
+        return new ComplaintChangeEvent(Type.DELETED, before, null, txid);
+    }
+
+    public Long complaintNo() {
+        return after != null ? after.complaintNo() : before.complaintNo();
+    }
+}
@@ -0,0 +1,66 @@
+package com.safeguard.event;
+
+import com.safeguard.dto.ComplaintDTO;
+import com.safeguard.entity.Complaint;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 변경 이벤트에 담기는 민원 상태 스냅샷 (집계/인덱스 갱신에 필요한 필드만)
+ */
+public record ComplaintSnapshot(
+        Long complaintNo,
+        String category,
+        String status,
+        OffsetDateTime createdDate,
+        OffsetDateTime updatedDate,
+        OffsetDateTime completedDate,
+        String address,
+        Double latitude,
+        Double longitude,
+        List<Long> agencyNos) {
+
+    public static ComplaintSnapshot of(ComplaintDTO c) {
+        return new ComplaintSnapshot(
+                c.getComplaintNo(),
+                c.getCategory(),
+                c.getStatus() != null ? c.getStatus().name() : null,
+                c.getCreatedDate(),
+                c.getUpdatedDate(),
+                c.getCompletedDate(),
+                c.getAddress(),
+                c.getLatitude(),
+                c.getLongitude(),
+                List.copyOf(c.getAssignedAgencyNos()));
+    }
+
+    public static ComplaintSnapshot of(Complaint c, List<Long> agencyNos) {
+        return new ComplaintSnapshot(
+                c.getComplaintNo(),
+                c.getCategory(),
+                c.getStatus() != null ? c.getStatus().name() : null,
+                c.getCreatedDate(),
+                c.getUpdatedDate(),
+                c.getCompletedDate(),
+                c.getAddress(),
+                c.getLatitude(),
+                c.getLongitude(),
+                List.copyOf(agencyNos));
+    }
+
+    /**
+     * 상태 변경 후 스냅샷 (updated_date 갱신 포함)
+     */
+    public ComplaintSnapshot withStatus(String newStatus, OffsetDateTime now) {
+        return new ComplaintSnapshot(complaintNo, category, newStatus, createdDate, now, completedDate,
+                address, latitude, longitude, agencyNos);
+    }
+
+    /**
+     * 답변 등록 등 상태 외 수정 후 스냅샷
+     */
+    public ComplaintSnapshot touched(OffsetDateTime now) {
+        return withStatus(status, now);
+    }
+}
@@ -0,0 +1,24 @@
+package com.safeguard.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 영업일 달력 (public_holiday / business_day_calendar)
+ * - SQL 에서는 BusinessDayMapper.xml 의 BusinessDaysElapsed 조각을 include 하여 사용
+ */
+@Mapper
+public interface BusinessDayMapper {
+
+    /**
+     * 등록된 공휴일 목록 조회 (Java 측 BusinessDayCalendar 적재용)
+     */
+    List<LocalDate> selectPublicHolidays();
+
+    /**
+     * 설날이 등록된 마지막 해 (음력 공휴일은 연도별로 등록해야 하므로 기한 점검용)
+     */
+    Integer selectLastLunarHolidayYear();
+}
@@ -19,6 +19,18 @@ public interface ComplaintGisMapper {
             @Param("limit") int limit,
             @Param("offset") int offset);
 
+    // 마커 격자 층화 샘플링 (bounds 필수, cellDeg: 격자 셀 크기)
+    List<MapItemDto> selectSampledMapMarkers(
+            @Param("req") MapSearchRequest req,
+            @Param("cellDeg") double cellDeg,
+            @Param("limit") int limit);
+
+    // 공간 인덱스 적재용 (complaintNo 가 null 이면 전체)
+    List<java.util.Map<String, Object>> selectSpatialIndexEntries(@Param("complaintNo") Long complaintNo);
+
+    // 클러스터 인덱스 적재용 포인트 (bounds 미적용, 건수 제한 없음 - 클러스터 건수가 실제 건수와 맞아야 함)
+    List<MapItemDto> selectMapPoints(@Param("req") MapSearchRequest req);
+
     // 클러스터(줌이 낮을 때)
     List<MapClusterDto> selectMapClusters(
             @Param("req") MapSearchRequest req,
@@ -30,15 +42,29 @@ public interface ComplaintGisMapper {
             @Param("req") MapSearchRequest req,
             @Param("gridDeg") double gridDeg);
 
+    // 벡터 타일(MVT) - complaints / hotspots / districts 레이어
+    byte[] selectComplaintTile(
+            @Param("req") MapSearchRequest req,
+            @Param("z") int z,
+            @Param("x") int x,
+            @Param("y") int y,
+            @Param("hexSize") double hexSize,
+            @Param("includePoints") boolean includePoints,
+            @Param("includeDistricts") boolean includeDistricts);
+
     // 시군구 통계
     List<com.safeguard.dto.MapDistrictDto> selectDistrictCounts(@Param("req") MapSearchRequest req);
 
-    // 목록
+    // 목록 (키셋: cursorNo 가 null 이면 첫 페이지)
     List<ComplaintListItemDto> selectComplaintMapList(
             @Param("req") MapSearchRequest req,
-            @Param("limit") int limit,
-            @Param("offset") int offset);
+            @Param("cursorCreatedDate") java.time.OffsetDateTime cursorCreatedDate,
+            @Param("cursorNo") Long cursorNo,
+            @Param("limit") int limit);
 
-    // 목록 total count
+    // 목록 total count (정확)
     long countComplaintMapList(@Param("req") MapSearchRequest req);
+
+    // 목록 total count (countCap 상한)
+    long countComplaintMapListBounded(@Param("req") MapSearchRequest req, @Param("countCap") int countCap);
 }
@@ -29,6 +29,16 @@ public interface ComplaintMapper {
 
         long countAll(Map<String, Object> params);
 
+        /**
+         * 키셋(seek) 페이징 조회 - cursorNo 등 커서 키 이후의 행을 fetchSize 만큼 조회
+         */
+        List<ComplaintDTO> findAllByCursor(Map<String, Object> params);
+
+        /**
+         * countCap 건까지만 세는 개수 조회 (estimate 모드)
+         */
+        long countAllBounded(Map<String, Object> params);
+
         // =========================
         // 상세/통계/Top
         // =========================
@@ -95,6 +105,11 @@ public interface ComplaintMapper {
         void insertComplaintAgency(@Param("complaintNo") Long complaintNo,
                         @Param("agencyNo") Long agencyNo);
 
+        /**
+         * 목록 조회용 기관/지역 프로젝션 컬럼(primary_agency_*, region_*) 재계산
+         */
+        void refreshComplaintProjection(@Param("complaintNo") Long complaintNo);
+
         /**
          * 사용자가 작성한 민원 목록 조회 (마이페이지용)
          *
@@ -134,6 +149,21 @@ public interface ComplaintMapper {
          */
         void updateComplaintLikeCount(@Param("complaintNo") Long complaintNo);
 
+        /**
+         * 현재 트랜잭션 번호 (변경 이벤트에 담아 재구성 스냅샷과 비교)
+         */
+        Long selectCurrentTxid();
+
+        /**
+         * 현재 트랜잭션 스냅샷 ("xmin:xmax:xip,...") - SnapshotReader 에서 재구성 쿼리와 같은 트랜잭션으로 조회
+         */
+        String selectTxSnapshot();
+
+        /**
+         * 대시보드 통계 엔진 재구성용 버킷 집계 (DashboardStatsEngine 재조정 시 사용)
+         */
+        List<Map<String, Object>> selectDashboardStatBuckets();
+
         /**
          * 상태별 민원 건수 집계 (기관 필터링 가능)
          */
@@ -152,13 +182,19 @@ public interface ComplaintMapper {
         List<Map<String, Object>> selectCategoryStats(@Param("agencyNo") Long agencyNo);
 
         /**
-         * 월별 민원 트렌드 조회
+         * 기간 단위별 민원 트렌드 조회 (데이터가 있는 버킷만 반환)
          *
          * @param category 카테고리 필터 (null 가능)
-         * @return 월별 접수/완료 건수 리스트
+         * @param unit     date_trunc 단위 (TrendGranularity.getUnit())
+         * @param from     집계 시작 시각 (포함)
+         * @param to       집계 종료 시각 (미포함)
+         * @return bucket, received, completed, sla_met, sla_total 리스트
          */
         List<Map<String, Object>> selectMonthlyTrend(@Param("category") String category,
-                        @Param("timeBasis") String timeBasis, @Param("agencyNo") Long agencyNo);
+                        @Param("unit") String unit,
+                        @Param("from") java.time.LocalDateTime from,
+                        @Param("to") java.time.LocalDateTime to,
+                        @Param("agencyNo") Long agencyNo);
 
         /**
          * 기관별(자치구별) 미처리 민원 병목 현황 조회
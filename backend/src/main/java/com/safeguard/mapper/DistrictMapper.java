@@ -0,0 +1,32 @@
+package com.safeguard.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.locationtech.jts.geom.Geometry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 행정구역(시군구) 경계 / 민원 시군구 코드
+ * - 경계 원본은 번들 파일이며 DB 의 district 는 SQL 집계/타일용 사본 (DistrictBoundaryIndex 에서 갱신)
+ */
+@Mapper
+public interface DistrictMapper {
+
+    // 시군구 등록/갱신
+    void upsertDistrict(
+            @Param("districtCode") int districtCode,
+            @Param("sidoName") String sidoName,
+            @Param("districtName") String districtName,
+            @Param("mapName") String mapName,
+            @Param("geom") Geometry geom);
+
+    // 시군구 코드 미지정 + 미판정 민원 (complaint_no 오름차순 keyset) - complaint_no, lat, lng
+    List<Map<String, Object>> selectComplaintsWithoutDistrict(
+            @Param("afterNo") long afterNo,
+            @Param("limit") int limit);
+
+    // 시군구 코드 일괄 저장 + 판정 시각 기록 (rows: complaintNo, districtCode - 경계 밖이면 null)
+    int updateComplaintDistricts(@Param("rows") List<Map<String, Object>> rows);
+}
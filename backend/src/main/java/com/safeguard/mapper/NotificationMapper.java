@@ -16,4 +16,26 @@ public interface NotificationMapper {
     int countUnread(@Param("userNo") Long userNo);
 
     void markAsRead(@Param("notificationId") Long notificationId, @Param("userNo") Long userNo);
+
+    // outbox: 선점 직렬화 (트랜잭션 advisory lock - 전송 순번 순서 = 커밋 순서)
+    int lockDispatch(@Param("lockKey") long lockKey);
+
+    // outbox: 미전송 알림 선점 (dispatched_at + 전송 순번 설정, 반환 순서는 보장 안 됨) - 발행과 같은 트랜잭션에서 호출
+    List<NotificationDTO> claimUndispatched(@Param("limit") int limit);
+
+    // SSE 재전송: 전송 순번 afterSeq 이후 최신 limit 건 (순번 내림차순)
+    List<NotificationDTO> selectNotificationsAfter(
+            @Param("userNo") Long userNo,
+            @Param("afterSeq") long afterSeq,
+            @Param("limit") int limit);
+
+    // 알림 버스 수신: 번호 목록으로 조회 (전송 순번 오름차순)
+    List<NotificationDTO> selectNotificationsByIds(@Param("notificationIds") List<Long> notificationIds);
+
+    // 알림 버스 발행 (pg_notify)
+    int notifyChannel(@Param("channel") String channel, @Param("payload") String payload);
+
+    // outbox: 발행 실패 횟수 기록 (maxAttempts 도달 시 전송 포기)
+    int recordFailedAttempt(@Param("notificationIds") List<Long> notificationIds,
+            @Param("maxAttempts") int maxAttempts);
 }
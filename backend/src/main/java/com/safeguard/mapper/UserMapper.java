@@ -32,4 +32,11 @@ public interface UserMapper {
     void updateUser(UserDTO user);
 
     void deleteUserByUserNo(@Param("userNo") Long userNo);
+
+    /**
+     * JWT 토큰 버전 (사용자가 없으면 null)
+     */
+    Integer selectTokenVersion(@Param("userId") String userId);
+
+    int incrementTokenVersion(@Param("userId") String userId);
 }
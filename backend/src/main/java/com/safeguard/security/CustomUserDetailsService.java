@@ -1,7 +1,6 @@
 package com.safeguard.security;
 
 import com.safeguard.dto.UserDTO;
-import com.safeguard.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,11 +14,12 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserMapper userMapper;
+    private final PrincipalResolver principalResolver;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userMapper.findByUserId(username)
+        // 요청/단기 캐시를 거쳐 조회 (컨트롤러의 사용자 조회와 DB 호출 공유)
+        return principalResolver.findByUserId(username)
                 .map(user -> createUserDetails(user))
                 .orElseThrow(() -> new UsernameNotFoundException("해당 아이디의 사용자를 찾을 수 없습니다: " + username));
     }
@@ -22,10 +22,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String token = jwtTokenProvider.resolveToken(request);
-        if (token != null && jwtTokenProvider.validateToken(token)) {
+        if (token != null) {
             try {
-                Authentication auth = jwtTokenProvider.getAuthentication(token);
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                // 서명 검증 + 인증 객체 생성을 한 번의 파싱으로 처리
+                Authentication auth = jwtTokenProvider.authenticate(token);
+                if (auth != null) {
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             } catch (Exception e) {
                 // User might be deleted/not found. Treat as anonymous.
                 SecurityContextHolder.clearContext();
@@ -1,5 +1,7 @@
 package com.safeguard.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -8,13 +10,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Slf4j
 @Component
@@ -26,12 +35,31 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration:3600000}") // 1 hour
     private long validityInMilliseconds;
 
+    // true: 토큰 클레임(userNo/role/agencyNo)만으로 인증 (DB 조회 없음)
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
     private Key key;
 
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    // 서명 검증이 끝난 토큰의 파싱 결과 (key: 토큰 SHA-256)
+    private final Cache<String, ParsedToken> parsedTokenCache = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
 
-    public JwtTokenProvider(UserDetailsService userDetailsService) {
+    public JwtTokenProvider(UserDetailsService userDetailsService, TokenRevocationRegistry tokenRevocationRegistry) {
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+
+    /**
+     * 검증된 토큰 클레임 (userNo 가 없으면 클레임 도입 이전에 발급된 토큰)
+     */
+    private record ParsedToken(String userId, String role, Long userNo, Long agencyNo,
+            Integer tokenVersion, long expiresAtMillis) {
     }
 
     @PostConstruct
@@ -44,8 +72,27 @@ public class JwtTokenProvider {
     }
 
     public String createToken(String userId, String role) {
+        return createToken(userId, role, null, null);
+    }
+
+    public String createToken(String userId, String role, Long userNo, Long agencyNo) {
+        return createToken(userId, role, userNo, agencyNo, tokenRevocationRegistry.currentVersion(userId));
+    }
+
+    /**
+     * 인증에 필요한 사용자 정보(userNo, role, agencyNo)와 토큰 버전(tv)을 클레임에 포함한 토큰 생성
+     */
+    public String createToken(String userId, String role, Long userNo, Long agencyNo, Integer tokenVersion) {
         Claims claims = Jwts.claims().setSubject(userId);
         claims.put("role", role);
+        if (userNo != null) {
+            claims.put("userNo", userNo);
+        }
+        if (agencyNo != null) {
+            claims.put("agencyNo", agencyNo);
+        }
+
+        claims.put("tv", tokenVersion != null ? tokenVersion : 0);
 
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMilliseconds);
@@ -60,6 +107,61 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * 토큰을 한 번만 파싱/검증하여 인증 객체 생성 (필터용)
+     * - stateless 모드 + 클레임 포함 토큰: 클레임으로 CustomUserDetails 구성 (DB 조회 없음)
+     * - 그 외(구 토큰 등): UserDetailsService 로 사용자 조회
+     *
+     * @return 유효하지 않거나 폐기된 토큰이면 null
+     */
+    public Authentication authenticate(String token) {
+        String cacheKey = hash(token);
+        ParsedToken parsed = parsedTokenCache.getIfPresent(cacheKey);
+        if (parsed == null) {
+            Claims claims = parseClaims(token);
+            if (claims == null) {
+                return null;
+            }
+            parsed = new ParsedToken(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    toLong(claims.get("userNo")),
+                    toLong(claims.get("agencyNo")),
+                    claims.get("tv") instanceof Number tv ? tv.intValue() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
+            parsedTokenCache.put(cacheKey, parsed);
+        }
+
+        if (parsed.expiresAtMillis() <= System.currentTimeMillis()) {
+            parsedTokenCache.invalidate(cacheKey);
+            log.info("Expired JWT token.");
+            return null;
+        }
+        try {
+            if (tokenRevocationRegistry.isRevoked(parsed.userId(), parsed.tokenVersion())) {
+                log.info("Revoked JWT token. userId: {}", parsed.userId());
+                return null;
+            }
+        } catch (Exception e) {
+            // 폐기 여부를 확인할 수 없으면 인증하지 않음
+            log.warn("JWT 토큰 버전 확인 실패 - userId: {}: {}", parsed.userId(), e.getMessage());
+            return null;
+        }
+
+        UserDetails userDetails;
+        if (stateless && parsed.userNo() != null && parsed.role() != null) {
+            userDetails = new CustomUserDetails(
+                    parsed.userId(),
+                    "",
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + parsed.role())),
+                    parsed.userNo(),
+                    parsed.agencyNo());
+        } else {
+            userDetails = userDetailsService.loadUserByUsername(parsed.userId());
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+    }
+
     public Authentication getAuthentication(String token) {
         UserDetails userDetails = userDetailsService.loadUserByUsername(getUsername(token));
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
@@ -78,9 +180,15 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /**
+     * 서명/만료 검증 후 클레임 반환 (실패 시 null)
+     */
+    private Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
         } catch (SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
         } catch (ExpiredJwtException e) {
@@ -90,6 +198,19 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException e) {
             log.info("JWT token compact of handler are invalid.");
         }
-        return false;
+        return null;
+    }
+
+    private static Long toLong(Object value) {
+        return (value instanceof Number n) ? n.longValue() : null;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
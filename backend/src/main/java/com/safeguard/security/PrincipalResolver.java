@@ -0,0 +1,92 @@
+package com.safeguard.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safeguard.common.TransactionHooks;
+import com.safeguard.dto.UserDTO;
+import com.safeguard.mapper.UserMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 인증 사용자(app_user) 조회 계층
+ * - 같은 요청 안에서는 request attribute 에 보관한 값을 재사용하고,
+ *   요청 간에는 userId 기준 단기 TTL 캐시로 DB 조회를 줄인다.
+ * - 회원정보 수정 / 비밀번호 변경 / 탈퇴 시 evict 로 즉시 무효화해야 한다.
+ */
+@Component
+public class PrincipalResolver {
+
+    private static final String REQUEST_ATTR_PREFIX = PrincipalResolver.class.getName() + ".";
+
+    private final UserMapper userMapper;
+    private final Cache<String, UserDTO> cache;
+
+    public PrincipalResolver(UserMapper userMapper, MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userMapper = userMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal");
+    }
+
+    /**
+     * userId 로 사용자 조회 (요청 메모 -> 캐시 -> DB 순)
+     * 반환 객체는 공유되므로 수정하면 안 된다.
+     */
+    public Optional<UserDTO> findByUserId(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        String attrKey = REQUEST_ATTR_PREFIX + userId;
+        if (attrs != null) {
+            Object memo = attrs.getAttribute(attrKey, RequestAttributes.SCOPE_REQUEST);
+            if (memo instanceof UserDTO user) {
+                return Optional.of(user);
+            }
+        }
+
+        UserDTO user = cache.get(userId, id -> userMapper.findByUserId(id).orElse(null));
+        if (user != null && attrs != null) {
+            attrs.setAttribute(attrKey, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * 현재 SecurityContext 의 로그인 사용자 조회 (비로그인/익명이면 empty)
+     */
+    public Optional<UserDTO> currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
+            return Optional.empty();
+        }
+        return findByUserId(auth.getName());
+    }
+
+    /**
+     * 사용자 정보 변경 시 캐시 무효화 (즉시 + 커밋 이후)
+     */
+    public void evict(String userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        TransactionHooks.afterCommit(() -> cache.invalidate(userId));
+    }
+}
@@ -0,0 +1,76 @@
+package com.safeguard.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safeguard.common.TransactionHooks;
+import com.safeguard.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Stateless JWT 폐기 판정 (사용자별 토큰 버전)
+ * - 토큰에는 발급 시점의 app_user.token_version 이 클레임(tv)으로 들어간다.
+ * - 탈퇴 / 비밀번호 재설정 / 권한·소속 기관 변경 시 revoke 를 호출하면 DB 의 버전이 올라가
+ *   그 이전에 발급된 토큰은 재기동 후에도, 다른 노드에서도 무효가 된다.
+ * - 요청마다 DB 를 보지 않도록 버전을 짧은 TTL(version-cache-ttl-ms) 동안 캐시한다.
+ *   revoke 한 노드는 즉시, 다른 노드는 최대 TTL 이후 반영된다.
+ * - 사용자가 없으면(탈퇴) 모든 토큰이 무효
+ */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+
+    // 캐시 값: 사용자 없음
+    private static final int NO_USER = -1;
+
+    private final UserMapper userMapper;
+    private final Cache<String, Integer> versionByUserId;
+
+    public TokenRevocationRegistry(UserMapper userMapper,
+            @Value("${jwt.version-cache-ttl-ms:5000}") long versionCacheTtlMs) {
+        this.userMapper = userMapper;
+        this.versionByUserId = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(versionCacheTtlMs))
+                .build();
+    }
+
+    /**
+     * 해당 사용자에게 이미 발급된 토큰을 모두 무효화 (호출 트랜잭션에 포함, 로컬 캐시는 커밋 후 비움)
+     */
+    public void revoke(String userId) {
+        if (userId == null) {
+            return;
+        }
+        userMapper.incrementTokenVersion(userId);
+        TransactionHooks.afterCommit(() -> versionByUserId.invalidate(userId));
+        log.info("JWT 폐기 처리 - userId: {}", userId);
+    }
+
+    /**
+     * 새 토큰에 담을 현재 버전 (사용자가 없으면 0)
+     */
+    public int currentVersion(String userId) {
+        int version = lookup(userId);
+        return version == NO_USER ? 0 : version;
+    }
+
+    /**
+     * 토큰 버전이 현재 버전과 다르거나 사용자가 없으면 true
+     * - 버전 클레임이 없는 토큰(도입 이전 발급)은 0 으로 본다.
+     */
+    public boolean isRevoked(String userId, Integer tokenVersion) {
+        int current = lookup(userId);
+        return current == NO_USER || current != (tokenVersion != null ? tokenVersion : 0);
+    }
+
+    private int lookup(String userId) {
+        return versionByUserId.get(userId, id -> {
+            Integer version = userMapper.selectTokenVersion(id);
+            return version != null ? version : NO_USER;
+        });
+    }
+}
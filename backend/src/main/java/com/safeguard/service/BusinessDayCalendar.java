@@ -0,0 +1,122 @@
+package com.safeguard.service;
+
+import com.safeguard.mapper.BusinessDayMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * 영업일 달력 (Java 측)
+ * - DB 의 business_day_calendar 와 같은 규칙: 주말(토/일) + public_holiday 제외
+ * - 경과 영업일 계산은 평일 수(O(1)) - 구간 내 평일 공휴일 수(O(log n))
+ * - 공휴일 목록은 기동 시 및 매일 새벽에 다시 읽는다.
+ * - 음력 공휴일(설날/추석 등)은 연도별 등록이 필요하므로, 다음 해 설날이 없으면 오류 로그를 남긴다.
+ */
+@Slf4j
+@Component
+public class BusinessDayCalendar {
+
+    private final BusinessDayMapper businessDayMapper;
+
+    // 평일에 해당하는 공휴일만 보관 (주말 공휴일은 이미 제외되므로)
+    private volatile NavigableSet<LocalDate> weekdayHolidays = Collections.emptyNavigableSet();
+
+    public BusinessDayCalendar(BusinessDayMapper businessDayMapper) {
+        this.businessDayMapper = businessDayMapper;
+        reload();
+    }
+
+    /**
+     * 공휴일 재적재 (public_holiday 변경 후 호출 가능)
+     */
+    @Scheduled(cron = "${business-day.reload-cron:0 5 0 * * *}")
+    public void reload() {
+        try {
+            TreeSet<LocalDate> loaded = new TreeSet<>();
+            for (LocalDate holiday : businessDayMapper.selectPublicHolidays()) {
+                if (!isWeekend(holiday)) {
+                    loaded.add(holiday);
+                }
+            }
+            weekdayHolidays = Collections.unmodifiableNavigableSet(loaded);
+            log.info("공휴일 달력 적재 완료 - 평일 공휴일 {}건", loaded.size());
+            checkLunarHolidayHorizon();
+        } catch (Exception e) {
+            // 테이블 미생성 등: 이전 목록 유지 (최초 적재 실패면 주말만 제외 - SLA/지연 계산이 틀어짐)
+            log.error("공휴일 달력 적재 실패 - {}: {}",
+                    weekdayHolidays.isEmpty() ? "주말만 제외하고 계산" : "이전 공휴일 목록 유지", e.getMessage());
+        }
+    }
+
+    /**
+     * 다음 해 음력 공휴일 등록 여부 점검 (미등록이면 그 해 설날/추석이 영업일로 계산됨)
+     */
+    private void checkLunarHolidayHorizon() {
+        Integer lastYear = businessDayMapper.selectLastLunarHolidayYear();
+        int nextYear = LocalDate.now().getYear() + 1;
+        if (lastYear == null || lastYear < nextYear) {
+            log.error("음력 공휴일이 {}년까지만 등록됨 - {}년 설날/추석/부처님오신날/대체공휴일을 public_holiday 에 등록해야 함",
+                    lastYear, nextYear);
+        }
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        return !isWeekend(date) && !weekdayHolidays.contains(date);
+    }
+
+    /**
+     * from 다음 날부터 to 까지(포함)의 영업일 수
+     * (SQL BusinessDaysElapsed 조각과 동일)
+     */
+    public long businessDaysBetween(LocalDate from, LocalDate to) {
+        LocalDate start = from.plusDays(1);
+        if (to.isBefore(start)) {
+            return 0;
+        }
+        long holidays = weekdayHolidays.subSet(start, true, to, true).size();
+        return weekdaysBetween(start, to) - holidays;
+    }
+
+    /**
+     * date 로부터 days 영업일 이후의 날짜
+     */
+    public LocalDate plusBusinessDays(LocalDate date, int days) {
+        LocalDate result = date;
+        int remaining = days;
+        while (remaining > 0) {
+            result = result.plusDays(1);
+            if (isBusinessDay(result)) {
+                remaining--;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * start ~ end (모두 포함) 사이 평일 수
+     */
+    private static long weekdaysBetween(LocalDate start, LocalDate end) {
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        long count = (days / 7) * 5;
+        int dow = start.getDayOfWeek().getValue();
+        for (long i = 0; i < days % 7; i++) {
+            int d = (int) ((dow - 1 + i) % 7) + 1;
+            if (d < DayOfWeek.SATURDAY.getValue()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek dow = date.getDayOfWeek();
+        return dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,63 @@
+package com.safeguard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safeguard.common.TransactionHooks;
+import com.safeguard.dto.ComplaintDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 민원 상세 조회 캐시 (조회자와 무관한 부분만 저장)
+ * - myReaction / isMyPost / isAssignedToMe 는 캐시하지 않고 조회 시점에 계산한다.
+ * - 크기/TTL 제한, 적중률은 cache.* 메트릭(name=complaintDetail)으로 노출
+ */
+@Slf4j
+@Component
+public class ComplaintDetailCache {
+
+    private final Cache<Long, ComplaintDTO> cache;
+
+    public ComplaintDetailCache(MeterRegistry meterRegistry,
+            @Value("${complaint.detail-cache.max-size:10000}") long maxSize,
+            @Value("${complaint.detail-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "complaintDetail");
+    }
+
+    /**
+     * 캐시된 상세를 반환하고, 없으면 loader 로 조회해 저장한다. (존재하지 않는 민원은 캐시하지 않음)
+     * 반환 객체는 여러 요청이 공유하므로 수정하면 안 된다.
+     */
+    public Optional<ComplaintDTO> get(Long complaintNo, Function<Long, Optional<ComplaintDTO>> loader) {
+        return Optional.ofNullable(cache.get(complaintNo, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * 민원 변경 시 무효화
+     * - 즉시 제거 + 커밋 이후 한 번 더 제거 (커밋 전 다른 요청이 이전 값을 다시 적재하는 경우 방지)
+     */
+    public void evict(Long complaintNo) {
+        cache.invalidate(complaintNo);
+        TransactionHooks.afterCommit(() -> cache.invalidate(complaintNo));
+    }
+
+    /**
+     * 일괄 삭제(초기화, 회원 탈퇴 등) 시 전체 무효화
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+        TransactionHooks.afterCommit(cache::invalidateAll);
+    }
+}
@@ -7,9 +7,20 @@ import java.util.List;
 public interface ComplaintGisService {
     List<MapItemDto> getMapItems(MapSearchRequest req);
 
+    MapDeltaDto getMapItemsDelta(MapSearchRequest req);
+
     List<MapHotspotDto> getHotspots(MapSearchRequest req);
 
+    List<HotspotCellDto> getHotspotCells(MapSearchRequest req);
+
     List<MapDistrictDto> getDistrictCounts(MapSearchRequest req);
 
-    PageResponse<ComplaintListItemDto> listComplaints(MapSearchRequest req, int page, int size);
+    /**
+     * 지도 목록 키셋 페이징 (등록일 내림차순)
+     *
+     * @param cursor    이전 응답의 nextCursor (null/빈 값이면 첫 페이지)
+     * @param countMode 전체 건수 조회 방식 (exact / estimate / none)
+     */
+    PageResponse<ComplaintListItemDto> listComplaints(MapSearchRequest req, String cursor, int size,
+            String countMode);
 }
@@ -25,6 +25,18 @@ public interface ComplaintService {
      */
     java.util.Map<String, Object> getDashboardStats(Long agencyNo, String category, String timeBasis);
 
+    /**
+     * 기간 단위별 민원 트렌드 (접수/완료 건수, SLA 준수율)
+     * - from/to 미지정 시 단위별 기본 기간(최근 N 버킷)
+     * - 데이터가 없는 버킷도 0으로 채워 연속된 목록으로 반환
+     *
+     * @param timeBasis YEAR/MONTH/WEEK/DAY/HOUR
+     * @param from      시작일 (포함, null 가능)
+     * @param to        종료일 (포함, null 가능)
+     */
+    java.util.List<java.util.Map<String, Object>> getComplaintTrend(Long agencyNo, String category, String timeBasis,
+            java.time.LocalDate from, java.time.LocalDate to);
+
     /**
      * 민원 상세 조회 (접근 권한 엄격 제어)
      */
@@ -39,4 +51,16 @@ public interface ComplaintService {
      * 민원 답변 등록/수정 (AGENCY 권한 필수)
      */
     void updateComplaintAnswer(Long complaintNo, Long userNo, String role, Long agencyNo, String answer);
+
+    /**
+     * 민원 목록 커서(키셋) 페이징 조회
+     * - 마지막 행의 (정렬 키, complaint_no) 이후부터 조회하므로 페이지 깊이와 무관하게 비용이 일정하다.
+     *
+     * @param params    목록 필터 (search, category, status, region, sort, order, agencyNo, limit)
+     * @param cursor    이전 응답의 nextCursor (빈 값이면 첫 페이지)
+     * @param countMode exact(정확한 전체 개수) / estimate(상한 내 개수) / none(생략)
+     * @return complaints, pagination(nextCursor, hasNext, totalCount...) 맵
+     */
+    java.util.Map<String, Object> getComplaintsByCursor(java.util.Map<String, Object> params, String cursor,
+            String countMode);
 }
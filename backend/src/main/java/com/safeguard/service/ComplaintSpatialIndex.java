@@ -0,0 +1,654 @@
+package com.safeguard.service;
+
+import com.safeguard.dto.ComplaintListItemDto;
+import com.safeguard.dto.MapDeltaDto;
+import com.safeguard.dto.MapDistrictDto;
+import com.safeguard.dto.MapItemDto;
+import com.safeguard.dto.MapItemType;
+import com.safeguard.dto.MapSearchRequest;
+import com.safeguard.event.ComplaintBulkChangeEvent;
+import com.safeguard.event.ComplaintChangeEvent;
+import com.safeguard.event.ComplaintSnapshot;
+import com.safeguard.mapper.ComplaintGisMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 민원 공간 인덱스 (메모리)
+ *
+ * 지도 조회(마커/목록/건수/시군구 통계)를 DB 조인 없이 처리하기 위한 인덱스.
+ * - 기본 인덱스: 삭제되지 않은 민원 전체를 적재한 JTS STRtree (불변)
+ * - 오버레이: 적재 이후 생성/수정/삭제된 민원 (complaintNo → 최신 항목, 삭제는 REMOVED 표시)
+ *   조회 시 기본 인덱스 결과 중 오버레이에 있는 민원은 오버레이 값으로 대체한다.
+ * - 오버레이가 일정 크기를 넘으면 메모리에서 기본 인덱스를 다시 만들고(compact),
+ *   주기적으로 DB 에서 전체를 다시 적재해 누락을 보정한다. (재적재 중 이벤트는 journal 로 재적용)
+ * - 적재 전(isReady()=false)에는 호출 측이 SQL 로 대체한다.
+ * - 변경 이벤트마다 데이터 버전을 올리고 최근 변경 민원 번호를 보관하여,
+ *   지도 이동 시 직전 뷰포트 대비 들어오고/나간 마커 + 변경분만 응답한다. (delta)
+ */
+@Slf4j
+@Component
+public class ComplaintSpatialIndex {
+
+    private final ComplaintGisMapper gisMapper;
+    private final DistrictBoundaryIndex districtBoundaryIndex;
+    private final boolean enabled;
+    private final long reloadIntervalMs;
+    private final int compactThreshold;
+    private final int changeLogSize;
+
+    private volatile State state = new State(List.of());
+    private volatile boolean ready = false;
+    private volatile long lastReloadAt = 0L;
+    // 이벤트 반영 실패(한 건 조회 실패 등) - 다음 주기에 DB 에서 다시 적재
+    private volatile boolean reloadRequested = false;
+
+    private final Object eventLock = new Object();
+    private List<PendingChange> journal = null;
+
+    // 데이터 버전 + 최근 변경 로그 (version → complaintNo)
+    // deltaFloor 이전 버전 기준의 델타 요청은 변경분을 알 수 없으므로 전체 응답
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, Long> changeLog = new ConcurrentSkipListMap<>();
+    private volatile long deltaFloor = 0L;
+
+    public ComplaintSpatialIndex(ComplaintGisMapper gisMapper, DistrictBoundaryIndex districtBoundaryIndex,
+            @Value("${map.spatial-index.enabled:true}") boolean enabled,
+            @Value("${map.spatial-index.reload-interval-ms:600000}") long reloadIntervalMs,
+            @Value("${map.spatial-index.compact-threshold:2000}") int compactThreshold,
+            @Value("${map.spatial-index.change-log-size:10000}") int changeLogSize) {
+        this.gisMapper = gisMapper;
+        this.districtBoundaryIndex = districtBoundaryIndex;
+        this.enabled = enabled;
+        this.reloadIntervalMs = reloadIntervalMs;
+        this.compactThreshold = compactThreshold;
+        this.changeLogSize = changeLogSize;
+    }
+
+    /**
+     * 인덱스 항목 (불변) - CommonConditions 필터에 필요한 필드 + 지도/목록 표시 필드
+     */
+    public record Entry(long complaintNo, double lng, double lat, String category, String status, String title,
+            OffsetDateTime createdDate, String address, Integer districtCode, long[] agencyNos) {
+
+        boolean assignedTo(long agencyNo) {
+            for (long no : agencyNos) {
+                if (no == agencyNo) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * 재적재 중 쌓인 이벤트 (loaded: 락 밖에서 미리 조회한 항목, 조회하지 않았으면 null)
+     */
+    private record PendingChange(ComplaintChangeEvent event, Entry loaded) {
+    }
+
+    private static final Entry REMOVED = new Entry(-1L, 0, 0, null, null, null, null, null, null,
+            new long[0]);
+
+    private static final class State {
+        final STRtree tree = new STRtree();
+        final Map<Long, Entry> base = new HashMap<>();
+        final Map<Long, Entry> overlay = new ConcurrentHashMap<>();
+
+        State(List<Entry> entries) {
+            for (Entry e : entries) {
+                base.put(e.complaintNo(), e);
+                tree.insert(new Envelope(e.lng(), e.lng(), e.lat(), e.lat()), e);
+            }
+            tree.build();
+        }
+
+        Entry current(long complaintNo) {
+            Entry e = overlay.get(complaintNo);
+            if (e == null) {
+                return base.get(complaintNo);
+            }
+            return e == REMOVED ? null : e;
+        }
+
+        List<Entry> merged() {
+            List<Entry> all = new ArrayList<>(base.size() + overlay.size());
+            for (Entry e : base.values()) {
+                if (!overlay.containsKey(e.complaintNo())) {
+                    all.add(e);
+                }
+            }
+            for (Entry e : overlay.values()) {
+                if (e != REMOVED) {
+                    all.add(e);
+                }
+            }
+            return all;
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /**
+     * CommonConditions 와 동일한 조건(뷰포트, 카테고리, 상태/완료 표시, 기간, 기관)으로 필터링한 항목
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Entry> query(MapSearchRequest req) {
+        State s = state;
+        Envelope view = viewport(req);
+        Stream<Entry> fromBase = ((List<Entry>) s.tree.query(view)).stream()
+                .filter(e -> !s.overlay.containsKey(e.complaintNo()));
+        Stream<Entry> fromOverlay = s.overlay.values().stream()
+                .filter(e -> e != REMOVED);
+        return Stream.concat(fromBase, fromOverlay)
+                .filter(e -> view.covers(e.lng(), e.lat()))
+                .filter(e -> matches(e, req));
+    }
+
+    /**
+     * 마커 (selectMapMarkers 와 동일 정렬: complaintNo 내림차순)
+     */
+    public List<MapItemDto> markers(MapSearchRequest req, int limit, int offset) {
+        return query(req)
+                .sorted(Comparator.comparingLong(Entry::complaintNo).reversed())
+                .skip(offset)
+                .limit(limit)
+                .map(ComplaintSpatialIndex::toMarker)
+                .toList();
+    }
+
+    /**
+     * 목록 (selectComplaintMapList 와 동일: (등록일, 민원번호) 내림차순, 커서 이후부터)
+     */
+    public List<ComplaintListItemDto> list(MapSearchRequest req, OffsetDateTime cursorCreatedDate, Long cursorNo,
+            int limit) {
+        return query(req)
+                .filter(e -> e.createdDate() != null)
+                .filter(e -> cursorNo == null || isBefore(e, cursorCreatedDate, cursorNo))
+                .sorted(Comparator.comparing(Entry::createdDate).reversed()
+                        .thenComparing(Comparator.comparingLong(Entry::complaintNo).reversed()))
+                .limit(limit)
+                .map(e -> new ComplaintListItemDto(e.complaintNo(), e.category(), e.title(), e.status(),
+                        e.createdDate(), e.address(),
+                        e.districtCode() != null ? String.valueOf(e.districtCode()) : null,
+                        e.lat(), e.lng(), null))
+                .toList();
+    }
+
+    /**
+     * 격자 층화 샘플링 마커 (selectSampledMapMarkers 와 동일 규칙)
+     * - 뷰포트를 약 limit 개의 정사각 셀로 나누고, 셀마다 최신순으로 순번을 매긴다.
+     * - 셀별 할당량은 건수 비례 ceil(limit * 셀 건수 / 전체 건수)
+     * - 순번 1 (모든 셀의 대표) → 순번 2 ... 순으로, 같은 순번은 밀집 셀 우선으로 limit 개까지 선택
+     * - 전체가 limit 이하이면 전부 반환 (markers 와 동일 결과)
+     */
+    public List<MapItemDto> sampledMarkers(MapSearchRequest req, int limit) {
+        Double cell = sampleCellSize(req, limit);
+        List<Entry> all = query(req).toList();
+        if (cell == null || all.size() <= limit) {
+            return all.stream()
+                    .sorted(Comparator.comparingLong(Entry::complaintNo).reversed())
+                    .limit(limit)
+                    .map(ComplaintSpatialIndex::toMarker)
+                    .toList();
+        }
+        Envelope view = viewport(req);
+        Map<Long, List<Entry>> cells = new HashMap<>();
+        for (Entry e : all) {
+            long gx = (long) Math.floor((e.lng() - view.getMinX()) / cell);
+            long gy = (long) Math.floor((e.lat() - view.getMinY()) / cell);
+            cells.computeIfAbsent((gx << 32) ^ (gy & 0xffffffffL), k -> new ArrayList<>()).add(e);
+        }
+
+        List<List<Entry>> ranked = new ArrayList<>(cells.values());
+        for (List<Entry> members : ranked) {
+            members.sort(Comparator.comparingLong(Entry::complaintNo).reversed());
+        }
+        Comparator<Map.Entry<Integer, Entry>> roundOrder = Comparator
+                .<Map.Entry<Integer, Entry>>comparingInt(Map.Entry::getKey).reversed()
+                .thenComparing(Comparator.<Map.Entry<Integer, Entry>>comparingLong(
+                        en -> en.getValue().complaintNo()).reversed());
+
+        List<MapItemDto> result = new ArrayList<>(limit);
+        for (int rn = 0; result.size() < limit; rn++) {
+            List<Map.Entry<Integer, Entry>> round = new ArrayList<>();
+            for (List<Entry> members : ranked) {
+                long quota = (long) Math.ceil((double) limit * members.size() / all.size());
+                if (rn < members.size() && rn < quota) {
+                    round.add(Map.entry(members.size(), members.get(rn)));
+                }
+            }
+            if (round.isEmpty()) {
+                break;
+            }
+            round.sort(roundOrder);
+            for (Map.Entry<Integer, Entry> en : round) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(toMarker(en.getValue()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 샘플링 격자 셀 크기(도) - 뷰포트 면적 / limit 의 제곱근 (뷰포트가 없으면 null)
+     */
+    public static Double sampleCellSize(MapSearchRequest req, int limit) {
+        if (req.getSwLat() == null || req.getSwLng() == null || req.getNeLat() == null || req.getNeLng() == null) {
+            return null;
+        }
+        double width = Math.abs(req.getNeLng() - req.getSwLng());
+        double height = Math.abs(req.getNeLat() - req.getSwLat());
+        double cell = Math.sqrt(width * height / Math.max(1, limit));
+        return cell > 0 ? cell : null;
+    }
+
+    // (created_date, complaint_no) < (cursorCreatedDate, cursorNo)
+    private static boolean isBefore(Entry e, OffsetDateTime cursorCreatedDate, long cursorNo) {
+        int cmp = e.createdDate().toInstant().compareTo(cursorCreatedDate.toInstant());
+        return cmp < 0 || (cmp == 0 && e.complaintNo() < cursorNo);
+    }
+
+    public long count(MapSearchRequest req) {
+        return query(req).count();
+    }
+
+    /**
+     * 시군구별 건수 (selectDistrictCounts 와 동일: 시군구 코드 우선, 경계 밖은 주소 규칙)
+     */
+    public List<MapDistrictDto> districtCounts(MapSearchRequest req) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        query(req).forEach(e -> counts.merge(districtName(e), 1L, Long::sum));
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(en -> {
+                    MapDistrictDto dto = new MapDistrictDto();
+                    dto.setName(en.getKey());
+                    dto.setCount(en.getValue());
+                    return dto;
+                })
+                .toList();
+    }
+
+    // =========================
+    // 뷰포트 델타
+    // =========================
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * 직전 뷰포트(prev bounds) / 버전(sinceVersion) 대비 변경분
+     * - added: 새 뷰포트에 들어온 마커 + sinceVersion 이후 변경되어 현재 조건에 맞는 마커
+     * - removed: 새 뷰포트에서 벗어난 마커 + 변경 후 조건/뷰포트에서 빠진 민원
+     * - 다음 경우에는 전체 응답(full): 직전 정보 없음, 변경 로그 범위 밖 버전,
+     *   직전/현재 뷰포트 건수가 limit 초과 (클라이언트가 잘린 목록을 가지고 있어 차분 불가)
+     */
+    public MapDeltaDto delta(MapSearchRequest req, int limit) {
+        long currentVersion = version.get();
+        Set<Long> changed = changedSince(req.getSinceVersion(), currentVersion);
+        MapSearchRequest prevReq = previousRequest(req);
+        if (changed == null || prevReq == null) {
+            return new MapDeltaDto(currentVersion, true, markers(req, limit, 0), List.of());
+        }
+
+        List<Entry> visible = query(req).toList();
+        List<Entry> previous = query(prevReq).toList();
+        if (visible.size() > limit || previous.size() > limit) {
+            return new MapDeltaDto(currentVersion, true, markers(req, limit, 0), List.of());
+        }
+
+        Envelope prevView = viewport(prevReq);
+        Envelope view = viewport(req);
+        List<MapItemDto> added = visible.stream()
+                .filter(e -> !prevView.covers(e.lng(), e.lat()) || changed.contains(e.complaintNo()))
+                .sorted(Comparator.comparingLong(Entry::complaintNo).reversed())
+                .map(ComplaintSpatialIndex::toMarker)
+                .toList();
+
+        Set<Long> visibleNos = visible.stream().map(Entry::complaintNo).collect(Collectors.toSet());
+        Set<Long> removed = previous.stream()
+                .filter(e -> !view.covers(e.lng(), e.lat()))
+                .map(Entry::complaintNo)
+                .collect(Collectors.toCollection(java.util.TreeSet::new));
+        changed.stream().filter(no -> !visibleNos.contains(no)).forEach(removed::add);
+
+        return new MapDeltaDto(currentVersion, false, added, List.copyOf(removed));
+    }
+
+    /**
+     * sinceVersion 이후 변경된 민원 번호 (로그 범위를 벗어나면 null)
+     */
+    private Set<Long> changedSince(Long sinceVersion, long currentVersion) {
+        if (sinceVersion == null || sinceVersion < deltaFloor || sinceVersion > currentVersion) {
+            return null;
+        }
+        return Set.copyOf(changeLog.subMap(sinceVersion, false, currentVersion, true).values());
+    }
+
+    private static MapSearchRequest previousRequest(MapSearchRequest req) {
+        if (req.getPrevSwLat() == null || req.getPrevSwLng() == null
+                || req.getPrevNeLat() == null || req.getPrevNeLng() == null) {
+            return null;
+        }
+        MapSearchRequest prev = MapClusterIndex.FilterKey.of(req).toRequest();
+        prev.setSwLat(req.getPrevSwLat());
+        prev.setSwLng(req.getPrevSwLng());
+        prev.setNeLat(req.getPrevNeLat());
+        prev.setNeLng(req.getPrevNeLng());
+        return prev;
+    }
+
+    // =========================
+    // 이벤트 반영
+    // =========================
+
+    // 이 인덱스를 원본으로 쓰는 MapClusterIndex 보다 먼저 반영
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // 인덱스에 없는 민원(신규 등)은 제목/공간 정보/기관 매핑을 락 밖에서 한 건 조회
+        // (DB 왕복 동안 다른 이벤트 반영/재적재 교체가 막히지 않도록)
+        Entry loaded = needsLoad(state, event) ? load(event.complaintNo()) : null;
+        synchronized (eventLock) {
+            apply(state, event, loaded);
+            if (journal != null) {
+                journal.add(new PendingChange(event, loaded));
+            }
+            changeLog.put(version.incrementAndGet(), event.complaintNo());
+            while (changeLog.size() > changeLogSize) {
+                deltaFloor = changeLog.pollFirstEntry().getKey();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ComplaintBulkChangeEvent event) {
+        // 다음 주기에 DB 에서 다시 적재 (그 전까지는 SQL 로 대체)
+        ready = false;
+        resetDeltas();
+    }
+
+    /**
+     * 이벤트로 추적되지 않은 변경이 있을 수 있을 때 - 이전 버전 기준 델타 요청은 전체 응답
+     */
+    private void resetDeltas() {
+        synchronized (eventLock) {
+            deltaFloor = version.incrementAndGet();
+            changeLog.clear();
+        }
+    }
+
+    private static boolean isRemoval(ComplaintChangeEvent event) {
+        return event.after() == null || "DELETED".equals(event.after().status());
+    }
+
+    /**
+     * 이벤트만으로 항목을 만들 수 없어 DB 조회가 필요한지 - 신규 또는 인덱스에 없던 민원의 수정
+     */
+    private static boolean needsLoad(State target, ComplaintChangeEvent event) {
+        if (isRemoval(event)) {
+            return false;
+        }
+        return event.type() != ComplaintChangeEvent.Type.UPDATED || target.current(event.complaintNo()) == null;
+    }
+
+    /**
+     * 한 건 조회 (공간 정보가 없으면 REMOVED, 실패 시 null + 재적재 요청)
+     */
+    private Entry load(long complaintNo) {
+        try {
+            List<Map<String, Object>> rows = gisMapper.selectSpatialIndexEntries(complaintNo);
+            return rows.isEmpty() ? REMOVED : toEntry(rows.get(0));
+        } catch (Exception e) {
+            log.warn("공간 인덱스 갱신 실패 - 민원 {}: {}", complaintNo, e.getMessage());
+            reloadRequested = true;
+            return null;
+        }
+    }
+
+    /**
+     * 이벤트 반영 (eventLock 안에서 호출, DB 조회 없음)
+     */
+    private void apply(State target, ComplaintChangeEvent event, Entry loaded) {
+        long complaintNo = event.complaintNo();
+        if (isRemoval(event)) {
+            target.overlay.put(complaintNo, REMOVED);
+            return;
+        }
+
+        Entry existing = target.current(complaintNo);
+        if (existing != null && event.type() == ComplaintChangeEvent.Type.UPDATED) {
+            target.overlay.put(complaintNo, updated(existing, event.before(), event.after()));
+            return;
+        }
+        if (loaded != null) {
+            target.overlay.put(complaintNo, loaded);
+            return;
+        }
+        // 조회 실패 또는 조회 이후 인덱스가 바뀌어 항목을 만들 수 없음
+        reloadRequested = true;
+    }
+
+    /**
+     * 수정 이벤트의 변경 후 스냅샷으로 항목 재구성 (스냅샷에 없는 제목은 기존 값 유지)
+     * - 좌표가 바뀌면 시군구 코드도 다시 판정, 주소는 바뀐 경우에만 변경 후 값으로
+     */
+    private Entry updated(Entry existing, ComplaintSnapshot before, ComplaintSnapshot after) {
+        double lng = after.longitude() != null ? after.longitude() : existing.lng();
+        double lat = after.latitude() != null ? after.latitude() : existing.lat();
+        boolean moved = lng != existing.lng() || lat != existing.lat();
+        Integer districtCode = moved ? districtBoundaryIndex.locate(lng, lat) : existing.districtCode();
+        String address = before != null && !Objects.equals(before.address(), after.address()) && after.address() != null
+                ? after.address()
+                : existing.address();
+        long[] agencyNos = after.agencyNos() != null
+                ? after.agencyNos().stream().mapToLong(Long::longValue).toArray()
+                : existing.agencyNos();
+        return new Entry(existing.complaintNo(), lng, lat,
+                after.category() != null ? after.category() : existing.category(),
+                after.status(),
+                existing.title(),
+                after.createdDate() != null ? after.createdDate() : existing.createdDate(),
+                address, districtCode, agencyNos);
+    }
+
+    // =========================
+    // 적재 / 압축
+    // =========================
+
+    @Scheduled(fixedDelayString = "${map.spatial-index.check-interval-ms:10000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        if (!ready || reloadRequested || System.currentTimeMillis() - lastReloadAt >= reloadIntervalMs) {
+            reload();
+        } else if (state.overlay.size() >= compactThreshold) {
+            compact();
+        }
+    }
+
+    public void reload() {
+        long started = System.currentTimeMillis();
+        synchronized (eventLock) {
+            journal = new ArrayList<>();
+            reloadRequested = false;
+        }
+        try {
+            List<Entry> entries = new ArrayList<>();
+            for (Map<String, Object> row : gisMapper.selectSpatialIndexEntries(null)) {
+                entries.add(toEntry(row));
+            }
+            State loaded = new State(entries);
+            synchronized (eventLock) {
+                for (PendingChange change : journal) {
+                    apply(loaded, change.event(), change.loaded());
+                }
+                state = loaded;
+                journal = null;
+            }
+            resetDeltas();
+            ready = true;
+            lastReloadAt = System.currentTimeMillis();
+            log.info("공간 인덱스 적재 완료 - {}건, 소요: {}ms", entries.size(), lastReloadAt - started);
+        } catch (Exception e) {
+            synchronized (eventLock) {
+                journal = null;
+                reloadRequested = true;
+            }
+            log.error("공간 인덱스 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 오버레이를 기본 인덱스에 합쳐 STRtree 재구성 (DB 조회 없음)
+     */
+    private void compact() {
+        synchronized (eventLock) {
+            state = new State(state.merged());
+        }
+    }
+
+    // =========================
+    // 변환 / 필터
+    // =========================
+
+    private static Entry toEntry(Map<String, Object> row) {
+        String agencyCsv = (String) row.get("agency_nos");
+        long[] agencyNos = (agencyCsv == null || agencyCsv.isEmpty())
+                ? new long[0]
+                : java.util.Arrays.stream(agencyCsv.split(",")).mapToLong(Long::parseLong).toArray();
+        return new Entry(
+                ((Number) row.get("complaint_no")).longValue(),
+                ((Number) row.get("lng")).doubleValue(),
+                ((Number) row.get("lat")).doubleValue(),
+                (String) row.get("category"),
+                (String) row.get("status"),
+                (String) row.get("title"),
+                toOffsetDateTime(row.get("created_date")),
+                (String) row.get("addr_text"),
+                row.get("district_code") != null ? ((Number) row.get("district_code")).intValue() : null,
+                agencyNos);
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof OffsetDateTime odt) {
+            return odt;
+        }
+        if (value instanceof java.sql.Timestamp ts) {
+            return ts.toInstant().atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        }
+        return null;
+    }
+
+    private static MapItemDto toMarker(Entry e) {
+        MapItemDto item = new MapItemDto();
+        item.setType(MapItemType.MARKER);
+        item.setLat(e.lat());
+        item.setLng(e.lng());
+        item.setComplaintNo(e.complaintNo());
+        item.setTitle(e.title());
+        item.setCategory(e.category());
+        item.setStatus(e.status());
+        item.setAddress(e.address());
+        return item;
+    }
+
+    private static Envelope viewport(MapSearchRequest req) {
+        if (req.getSwLat() == null || req.getSwLng() == null || req.getNeLat() == null || req.getNeLng() == null) {
+            return new Envelope(-180, 180, -90, 90);
+        }
+        return new Envelope(req.getSwLng(), req.getNeLng(), req.getSwLat(), req.getNeLat());
+    }
+
+    private static boolean matches(Entry e, MapSearchRequest req) {
+        if ("DELETED".equals(e.status())) {
+            return false;
+        }
+        String category = req.getCategory();
+        if (category != null && !category.isEmpty() && !"전체".equals(category) && !category.equals(e.category())) {
+            return false;
+        }
+        String status = req.getStatus();
+        if (status != null && !status.isEmpty() && !"전체".equals(status)) {
+            if (!status.equals(e.status())) {
+                return false;
+            }
+        } else if (Boolean.FALSE.equals(req.getShowCompleted()) && "COMPLETED".equals(e.status())) {
+            return false;
+        }
+        if (req.getFrom() != null && (e.createdDate() == null || e.createdDate().isBefore(req.getFrom()))) {
+            return false;
+        }
+        if (req.getTo() != null && (e.createdDate() == null || e.createdDate().isAfter(req.getTo()))) {
+            return false;
+        }
+        return req.getAgencyNo() == null || e.assignedTo(req.getAgencyNo());
+    }
+
+    private String districtName(Entry e) {
+        DistrictBoundaryIndex.District district = districtBoundaryIndex.get(e.districtCode());
+        return district != null ? district.mapName() : districtName(e.address());
+    }
+
+    /**
+     * selectDistrictCounts 의 CASE 식과 동일한 시군구 이름 규칙 (시군구 코드가 없는 민원용)
+     */
+    static String districtName(String addr) {
+        if (addr == null) {
+            return null;
+        }
+        String[] parts = addr.split(" ", -1);
+        String first = parts[0];
+        String second = parts.length > 1 ? parts[1] : "";
+        if (addr.startsWith("서울특별시 ")) {
+            return (first + " " + second).trim();
+        }
+        if (addr.equals("서울특별시")) {
+            return "서울특별시";
+        }
+        if (addr.contains("광역시 ") || addr.startsWith("세종특별자치시 ")) {
+            return first;
+        }
+        if (addr.endsWith("광역시") || addr.equals("세종특별자치시")) {
+            return addr;
+        }
+        return (first + " " + second).trim();
+    }
+}
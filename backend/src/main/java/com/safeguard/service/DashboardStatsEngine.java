@@ -0,0 +1,499 @@
+package com.safeguard.service;
+
+import com.safeguard.common.TxSnapshot;
+import com.safeguard.dto.ComplaintStatsDTO;
+import com.safeguard.event.ComplaintBulkChangeEvent;
+import com.safeguard.event.ComplaintChangeEvent;
+import com.safeguard.event.ComplaintSnapshot;
+import com.safeguard.mapper.ComplaintMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대시보드 통계 엔진 (증분 집계)
+ *
+ * 민원 단위가 아닌 버킷 단위 카운터를 메모리에 유지하여 대시보드 요약/카테고리/병목 통계를
+ * O(버킷 수)로 계산한다.
+ * - 버킷: (기관 범위, 카테고리, 접수일, 상태, SLA 준수 여부, 완료 월)
+ *   + 미처리 민원은 (기관 범위, 자치구, 접수일) 버킷을 별도로 유지 (병목/지연 현황용)
+ * - 기관 범위: null(전체) + 민원에 배정된 각 기관. 한 민원은 범위마다 한 번씩 집계된다.
+ * - 생성/상태 변경/삭제 이벤트(ComplaintChangeEvent)를 커밋 이후 반영하고,
+ *   주기적으로 DB 집계 결과로 전체를 재구성하여 누락/중복을 보정한다.
+ * - 재구성 중 들어온 이벤트는 재구성 쿼리의 트랜잭션 스냅샷(SnapshotReader)에 보이지 않는 것(이후 커밋)만
+ *   재적용한다. 쿼리 결과에 이미 포함된 변경을 다시 더하면 버킷이 중복/음수가 되기 때문
+ * - 최초 적재 전(또는 stale 표시 후 재구성 전)에는 isReady()=false 이며, 호출 측은 SQL 로 대체한다.
+ *   재구성 도중 stale 표시가 들어오면(세대 번호 변경) 그 재구성 결과로는 ready 로 바꾸지 않는다.
+ */
+@Slf4j
+@Component
+public class DashboardStatsEngine {
+
+    private static final int SLA_DAYS = 3;
+    private static final int LONG_TERM_DAYS = 14;
+
+    private final ComplaintMapper complaintMapper;
+    private final BusinessDayCalendar businessDayCalendar;
+    private final ReverseGeocoder reverseGeocoder;
+    private final SnapshotReader snapshotReader;
+    private final boolean enabled;
+    private final long reconcileIntervalMs;
+
+    private volatile State state = new State();
+    private volatile boolean ready = false;
+    private volatile long lastRebuildAt = 0L;
+    // markStale 마다 증가 - 재구성 시작 이후 바뀌었으면 그 결과는 이미 낡은 것
+    private final AtomicLong staleGeneration = new AtomicLong();
+
+    // 재구성 중 들어온 이벤트 (재구성 결과에 다시 적용)
+    private final Object eventLock = new Object();
+    private List<ComplaintChangeEvent> journal = null;
+
+    public DashboardStatsEngine(ComplaintMapper complaintMapper, BusinessDayCalendar businessDayCalendar,
+            ReverseGeocoder reverseGeocoder, SnapshotReader snapshotReader,
+            @Value("${dashboard.stats.enabled:true}") boolean enabled,
+            @Value("${dashboard.stats.reconcile-interval-ms:300000}") long reconcileIntervalMs) {
+        this.complaintMapper = complaintMapper;
+        this.businessDayCalendar = businessDayCalendar;
+        this.reverseGeocoder = reverseGeocoder;
+        this.snapshotReader = snapshotReader;
+        this.enabled = enabled;
+        this.reconcileIntervalMs = reconcileIntervalMs;
+    }
+
+    // =========================
+    // 버킷 정의
+    // =========================
+
+    record BucketKey(Long agencyNo, String category, LocalDate createdDay, String status,
+            boolean slaMet, YearMonth completedMonth) {
+    }
+
+    record Tally(long count, double processingDaysSum, long processingCount) {
+        Tally plus(Tally o) {
+            return new Tally(count + o.count, processingDaysSum + o.processingDaysSum,
+                    processingCount + o.processingCount);
+        }
+
+        boolean isEmpty() {
+            return count == 0 && processingCount == 0;
+        }
+    }
+
+    record DistrictKey(Long agencyNo, String district, LocalDate createdDay) {
+    }
+
+    private static final class State {
+        final Map<BucketKey, Tally> buckets = new ConcurrentHashMap<>();
+        final Map<DistrictKey, Long> openByDistrict = new ConcurrentHashMap<>();
+
+        void addBucket(BucketKey key, Tally delta) {
+            buckets.merge(key, delta, (a, b) -> {
+                Tally sum = a.plus(b);
+                return sum.isEmpty() ? null : sum;
+            });
+        }
+
+        void addDistrict(DistrictKey key, long delta) {
+            openByDistrict.merge(key, delta, (a, b) -> {
+                long sum = a + b;
+                return sum == 0 ? null : sum;
+            });
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 일괄 삭제 등 이벤트로 추적할 수 없는 변경 후 호출 - 다음 주기에 재구성될 때까지 SQL 로 대체
+     */
+    public void markStale() {
+        staleGeneration.incrementAndGet();
+        ready = false;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ComplaintBulkChangeEvent event) {
+        markStale();
+    }
+
+    // =========================
+    // 이벤트 반영
+    // =========================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (eventLock) {
+            apply(state, event);
+            if (journal != null) {
+                journal.add(event);
+            }
+        }
+    }
+
+    private void apply(State target, ComplaintChangeEvent event) {
+        if (event.before() != null) {
+            applySnapshot(target, event.before(), -1);
+        }
+        if (event.after() != null) {
+            applySnapshot(target, event.after(), +1);
+        }
+    }
+
+    private void applySnapshot(State target, ComplaintSnapshot s, int sign) {
+        if (s.status() == null || "DELETED".equals(s.status()) || s.createdDate() == null) {
+            return;
+        }
+        LocalDate createdDay = toLocalDate(s.createdDate());
+        boolean completed = "COMPLETED".equals(s.status());
+        boolean slaMet = completed && businessDayCalendar.businessDaysBetween(createdDay,
+                s.updatedDate() != null ? toLocalDate(s.updatedDate()) : createdDay) <= SLA_DAYS;
+        YearMonth completedMonth = (completed && s.completedDate() != null)
+                ? YearMonth.from(toLocalDate(s.completedDate()))
+                : null;
+        double processingDays = (completed && s.completedDate() != null)
+                ? ChronoUnit.SECONDS.between(s.createdDate(), s.completedDate()) / 86400.0
+                : 0.0;
+        Tally delta = new Tally(sign, sign * processingDays,
+                (completed && s.completedDate() != null) ? sign : 0);
+
+        String district = isOpen(s.status()) ? districtOf(s) : null;
+
+        List<Long> scopes = new ArrayList<>();
+        scopes.add(null);
+        scopes.addAll(s.agencyNos());
+        for (Long scope : scopes) {
+            target.addBucket(new BucketKey(scope, s.category(), createdDay, s.status(), slaMet, completedMonth),
+                    delta);
+            if (district != null) {
+                target.addDistrict(new DistrictKey(scope, district, createdDay), sign);
+            }
+        }
+    }
+
+    // =========================
+    // 재조정 (DB 기준 재구성)
+    // =========================
+
+    @Scheduled(fixedDelayString = "${dashboard.stats.check-interval-ms:10000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        if (ready && System.currentTimeMillis() - lastRebuildAt < reconcileIntervalMs) {
+            return;
+        }
+        rebuild();
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long generation = staleGeneration.get();
+        // 스냅샷보다 먼저 journal 을 열어야 스냅샷 이후 커밋된 변경의 이벤트가 빠지지 않는다
+        synchronized (eventLock) {
+            journal = new ArrayList<>();
+        }
+        try {
+            SnapshotReader.Result<List<Map<String, Object>>> result =
+                    snapshotReader.read(complaintMapper::selectDashboardStatBuckets);
+            State rebuilt = new State();
+            for (Map<String, Object> row : result.value()) {
+                loadRow(rebuilt, row);
+            }
+            TxSnapshot snapshot = result.snapshot();
+            int replayed = 0;
+            boolean unknown = false;
+            synchronized (eventLock) {
+                for (ComplaintChangeEvent event : journal) {
+                    if (event.txid() == null) {
+                        // 트랜잭션 밖 변경: 반영 여부를 알 수 없음 → 다음 주기에 다시 재구성
+                        unknown = true;
+                    } else if (!snapshot.sees(event.txid())) {
+                        apply(rebuilt, event);
+                        replayed++;
+                    }
+                }
+                state = rebuilt;
+                journal = null;
+            }
+            if (staleGeneration.get() == generation) {
+                ready = true;
+            }
+            lastRebuildAt = unknown ? 0L : System.currentTimeMillis();
+            log.info("대시보드 통계 재구성 완료 - 버킷: {}, 자치구 버킷: {}, 재적용 이벤트: {}, 소요: {}ms",
+                    rebuilt.buckets.size(), rebuilt.openByDistrict.size(), replayed,
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            synchronized (eventLock) {
+                journal = null;
+            }
+            log.error("대시보드 통계 재구성 실패: {}", e.getMessage());
+        }
+    }
+
+    private void loadRow(State target, Map<String, Object> row) {
+        Long agencyNo = row.get("agency_no") != null ? ((Number) row.get("agency_no")).longValue() : null;
+        String category = (String) row.get("category");
+        LocalDate createdDay = ((java.sql.Date) row.get("created_day")).toLocalDate();
+        String status = (String) row.get("status");
+        boolean slaMet = Boolean.TRUE.equals(row.get("sla_met"));
+        String completedMonthStr = (String) row.get("completed_month");
+        YearMonth completedMonth = completedMonthStr != null ? YearMonth.parse(completedMonthStr) : null;
+        String district = (String) row.get("district");
+        long count = ((Number) row.get("cnt")).longValue();
+        double processingSum = ((Number) row.get("processing_days_sum")).doubleValue();
+        long processingCount = ((Number) row.get("processing_cnt")).longValue();
+
+        target.addBucket(new BucketKey(agencyNo, category, createdDay, status, slaMet, completedMonth),
+                new Tally(count, processingSum, processingCount));
+        if (district != null) {
+            target.addDistrict(new DistrictKey(agencyNo, district, createdDay), count);
+        }
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /**
+     * 요약 통계 (selectComplaintStats 와 동일 지표)
+     */
+    public ComplaintStatsDTO summary(Long agencyNo, String category) {
+        LocalDate today = LocalDate.now(zone());
+        LocalDate yesterday = today.minusDays(1);
+        YearMonth thisMonth = YearMonth.from(today);
+        YearMonth lastMonth = thisMonth.minusMonths(1);
+        int thisYear = today.getYear();
+        boolean filterCategory = category != null && !"전체".equals(category);
+
+        long total = 0, todayCount = 0, yesterdayCount = 0, monthCount = 0, lastMonthCount = 0;
+        long yearCount = 0, lastYearCount = 0;
+        long received = 0, processing = 0, completed = 0, completedSla = 0;
+        long open = 0, overdue = 0, longTerm = 0, completedThisMonth = 0;
+        double processingSum = 0;
+        long processingCount = 0;
+
+        for (Map.Entry<BucketKey, Tally> e : state.buckets.entrySet()) {
+            BucketKey k = e.getKey();
+            if (!Objects.equals(k.agencyNo(), agencyNo)) {
+                continue;
+            }
+            if (filterCategory && !category.equals(k.category())) {
+                continue;
+            }
+            long n = e.getValue().count();
+            total += n;
+
+            LocalDate day = k.createdDay();
+            if (day.equals(today)) {
+                todayCount += n;
+            } else if (day.equals(yesterday)) {
+                yesterdayCount += n;
+            }
+            YearMonth ym = YearMonth.from(day);
+            if (ym.equals(thisMonth)) {
+                monthCount += n;
+            } else if (ym.equals(lastMonth)) {
+                lastMonthCount += n;
+            }
+            if (day.getYear() == thisYear) {
+                yearCount += n;
+            } else if (day.getYear() == thisYear - 1) {
+                lastYearCount += n;
+            }
+
+            switch (k.status()) {
+                case "UNPROCESSED" -> received += n;
+                case "IN_PROGRESS" -> processing += n;
+                case "COMPLETED" -> {
+                    completed += n;
+                    if (k.slaMet()) {
+                        completedSla += n;
+                    }
+                    if (thisMonth.equals(k.completedMonth())) {
+                        completedThisMonth += n;
+                    }
+                    processingSum += e.getValue().processingDaysSum();
+                    processingCount += e.getValue().processingCount();
+                }
+                default -> {
+                }
+            }
+            if (isOpen(k.status())) {
+                open += n;
+                long elapsed = businessDayCalendar.businessDaysBetween(day, today);
+                if (elapsed > SLA_DAYS) {
+                    overdue += n;
+                }
+                if (elapsed > LONG_TERM_DAYS) {
+                    longTerm += n;
+                }
+            }
+        }
+
+        ComplaintStatsDTO dto = new ComplaintStatsDTO();
+        dto.setTotal(total);
+        dto.setToday(todayCount);
+        dto.setReceived(received);
+        dto.setProcessing(processing);
+        dto.setCompleted(completed);
+        dto.setSlaCompliance(percent(completedSla, completed));
+        dto.setOverdue(overdue);
+        dto.setTodayCount(todayCount);
+        dto.setYesterdayCount(yesterdayCount);
+        dto.setMonthCount(monthCount);
+        dto.setLastMonthCount(lastMonthCount);
+        dto.setYearCount(yearCount);
+        dto.setLastYearCount(lastYearCount);
+        dto.setAvgProcessingDays(processingCount > 0 ? round1(processingSum / processingCount) : 0);
+        dto.setCompletionRate(percent(completedThisMonth, monthCount));
+        dto.setLongTermUnprocessedRate(percent(longTerm, open));
+        return dto;
+    }
+
+    /**
+     * 카테고리별 건수 및 전일 대비 증감률 (selectCategoryStats 와 동일 지표)
+     */
+    public List<Map<String, Object>> categoryStats(Long agencyNo) {
+        LocalDate today = LocalDate.now(zone());
+        LocalDate yesterday = today.minusDays(1);
+
+        Map<String, long[]> byCategory = new HashMap<>(); // [total, today, yesterday]
+        for (Map.Entry<BucketKey, Tally> e : state.buckets.entrySet()) {
+            BucketKey k = e.getKey();
+            if (!Objects.equals(k.agencyNo(), agencyNo)) {
+                continue;
+            }
+            long[] acc = byCategory.computeIfAbsent(k.category(), c -> new long[3]);
+            long n = e.getValue().count();
+            acc[0] += n;
+            if (k.createdDay().equals(today)) {
+                acc[1] += n;
+            } else if (k.createdDay().equals(yesterday)) {
+                acc[2] += n;
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        byCategory.forEach((name, acc) -> {
+            if (acc[0] == 0) {
+                return;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", name);
+            row.put("value", (int) acc[0]);
+            row.put("change", acc[2] > 0 ? round1((acc[1] - acc[2]) * 100.0 / acc[2]) : 0);
+            result.add(row);
+        });
+        result.sort(Comparator.comparing((Map<String, Object> r) -> (Integer) r.get("value")).reversed());
+        return result;
+    }
+
+    /**
+     * 자치구별 미처리 민원 TOP 10 (selectAgencyBottleneck 대체)
+     */
+    public List<Map<String, Object>> bottleneck(Long agencyNo) {
+        return topDistricts(agencyNo, false);
+    }
+
+    /**
+     * 자치구별 지연(영업일 3일 초과) 민원 TOP 10 (selectDistrictOverdue 대체)
+     */
+    public List<Map<String, Object>> districtOverdue(Long agencyNo) {
+        return topDistricts(agencyNo, true);
+    }
+
+    private List<Map<String, Object>> topDistricts(Long agencyNo, boolean overdueOnly) {
+        LocalDate today = LocalDate.now(zone());
+        Map<String, Long> counts = new HashMap<>();
+        for (Map.Entry<DistrictKey, Long> e : state.openByDistrict.entrySet()) {
+            DistrictKey k = e.getKey();
+            if (!Objects.equals(k.agencyNo(), agencyNo)) {
+                continue;
+            }
+            if (overdueOnly && businessDayCalendar.businessDaysBetween(k.createdDay(), today) <= SLA_DAYS) {
+                continue;
+            }
+            counts.merge(k.district(), e.getValue(), Long::sum);
+        }
+
+        return counts.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(10)
+                .map(e -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("name", e.getKey());
+                    row.put("count", e.getValue().intValue());
+                    return row;
+                })
+                .toList();
+    }
+
+    // =========================
+    // 헬퍼
+    // =========================
+
+    private static boolean isOpen(String status) {
+        return "UNPROCESSED".equals(status) || "IN_PROGRESS".equals(status);
+    }
+
+    /**
+     * 집계 SQL 과 동일: 좌표의 시군구(district_code) 이름, 경계 밖이면 주소 규칙
+     */
+    private String districtOf(ComplaintSnapshot s) {
+        ReverseGeocoder.Address address = reverseGeocoder.reverse(s.longitude(), s.latitude());
+        return address.isFound() ? address.districtName() : districtOf(s.address());
+    }
+
+    /**
+     * SPLIT_PART(address, ' ', 2) 와 동일 (주소가 없으면 null)
+     */
+    static String districtOf(String address) {
+        if (address == null) {
+            return null;
+        }
+        String[] parts = address.split(" ", -1);
+        return parts.length > 1 ? parts[1] : "";
+    }
+
+    private static double percent(long numerator, long denominator) {
+        return denominator > 0 ? round1(numerator * 100.0 / denominator) : 0;
+    }
+
+    private static double round1(double value) {
+        return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static ZoneId zone() {
+        return ZoneId.systemDefault();
+    }
+
+    private static LocalDate toLocalDate(OffsetDateTime dateTime) {
+        return dateTime.atZoneSameInstant(zone()).toLocalDate();
+    }
+}
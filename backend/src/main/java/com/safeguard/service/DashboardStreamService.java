@@ -0,0 +1,280 @@
+package com.safeguard.service;
+
+import com.safeguard.enums.TrendGranularity;
+import com.safeguard.event.ComplaintBulkChangeEvent;
+import com.safeguard.event.ComplaintChangeEvent;
+import com.safeguard.event.ComplaintSnapshot;
+import com.safeguard.security.CustomUserDetails;
+import com.safeguard.security.JwtTokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 대시보드 실시간 스트림 (SSE)
+ *
+ * 관리자 대시보드의 폴링(GET /stats/dashboard)을 대체한다.
+ * - 구독은 (기관 범위, 카테고리, 시간 단위) 그룹으로 묶이며, 그룹당 통계는 한 번만 계산해 모든 구독자에게 보낸다.
+ * - 민원 변경 이벤트는 해당 그룹을 dirty 로 표시만 하고, 주기(tick)마다 dirty 그룹만 재계산한다.
+ *   (변경이 몰려도 그룹당 tick 당 최대 1회 계산)
+ * - 최초 연결 시 전체 스냅샷(snapshot), 이후에는 바뀐 섹션만 담은 delta 를 보낸다.
+ * - 시간 경과로 바뀌는 값(오늘 접수, 지연 건수 등)은 refresh 주기마다 전체 그룹을 다시 계산해 반영한다.
+ * - 전송은 알림 SSE 허브(NotificationHub.openStream)의 연결별 송신 큐/스레드를 쓴다.
+ *   tick 은 큐에 넣기만 하므로 느린 클라이언트가 스케줄러 스레드(다른 @Scheduled 작업)를 막지 않는다.
+ */
+@Slf4j
+@Service
+public class DashboardStreamService {
+
+    private static final long EMITTER_TIMEOUT_MS = 60 * 60 * 1000L; // 1시간
+
+    private final ComplaintService complaintService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final NotificationHub notificationHub;
+    private final long refreshIntervalMs;
+
+    private final Map<StreamKey, StreamGroup> groups = new ConcurrentHashMap<>();
+    private volatile long lastFullRefreshAt = System.currentTimeMillis();
+
+    public DashboardStreamService(ComplaintService complaintService, JwtTokenProvider jwtTokenProvider,
+            NotificationHub notificationHub,
+            @Value("${dashboard.stream.refresh-interval-ms:60000}") long refreshIntervalMs) {
+        this.complaintService = complaintService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.notificationHub = notificationHub;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    /**
+     * 구독 그룹 키 (대시보드 조회 파라미터와 동일)
+     */
+    record StreamKey(Long agencyNo, String category, TrendGranularity timeBasis) {
+    }
+
+    static final class StreamGroup {
+        final StreamKey key;
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        volatile boolean dirty = true;
+        Map<String, Object> snapshot; // 마지막으로 보낸 통계 (group 락 안에서만 접근)
+        long version = 0L;
+
+        StreamGroup(StreamKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * 구독자 1명 - 스냅샷을 받기 전(ready=false)에는 delta 를 보내지 않는다. (ready 는 group 락 안에서만 접근)
+     */
+    static final class Subscriber {
+        NotificationHub.Stream stream;
+        boolean ready = false;
+    }
+
+    /**
+     * 대시보드 스트림 구독
+     * - token 이 있으면 검증 후 AGENCY 계정은 소속 기관 범위로 한정 (GET /stats/dashboard 와 동일 규칙)
+     * - timeBasis: YEAR, MONTH, WEEK, DAY, HOUR (미지정이면 MONTH, 그 외 값은 400)
+     */
+    public SseEmitter subscribe(String token, String category, String timeBasis) {
+        Long agencyNo = resolveAgencyNo(token);
+        StreamKey key = new StreamKey(agencyNo, normalizeCategory(category), parseTimeBasis(timeBasis));
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber();
+        Consumer<NotificationHub.Stream> onClosed = s -> removeSubscriber(key, subscriber);
+        subscriber.stream = notificationHub.openStream(emitter, onClosed);
+        // 빈 그룹 제거(tick/연결 종료)와 겹쳐도 제거된 그룹에 붙지 않도록 compute 안에서 추가
+        StreamGroup group = groups.compute(key, (k, g) -> {
+            StreamGroup target = g != null ? g : new StreamGroup(k);
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        if (!subscriber.stream.isOpen()) {
+            removeSubscriber(key, subscriber);
+            return emitter;
+        }
+
+        // 첫 스냅샷: 이미 계산된 최신 값이 있으면 재사용, dirty 면 먼저 재계산
+        // (재계산이 기존 구독자에게 delta 만 보내더라도 새 구독자는 항상 스냅샷부터 받는다)
+        synchronized (group) {
+            if (group.snapshot == null || group.dirty) {
+                recompute(group);
+            }
+            if (group.snapshot != null && !subscriber.ready) {
+                sendSnapshot(group, subscriber);
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * 민원 변경 → 영향을 받는 그룹만 dirty 표시 (계산은 다음 tick 에서)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangeEvent event) {
+        for (StreamGroup group : groups.values()) {
+            if (affects(group.key, event.before()) || affects(group.key, event.after())) {
+                group.dirty = true;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ComplaintBulkChangeEvent event) {
+        groups.values().forEach(group -> group.dirty = true);
+    }
+
+    /**
+     * dirty 그룹 재계산 및 delta 전송 (그룹당 tick 당 최대 1회)
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.tick-ms:2000}")
+    public void tick() {
+        boolean fullRefresh = System.currentTimeMillis() - lastFullRefreshAt >= refreshIntervalMs;
+        if (fullRefresh) {
+            lastFullRefreshAt = System.currentTimeMillis();
+        }
+
+        for (StreamGroup group : groups.values()) {
+            if (group.subscribers.isEmpty()) {
+                removeIfEmpty(group);
+                continue;
+            }
+            if (!group.dirty && !fullRefresh) {
+                continue;
+            }
+            synchronized (group) {
+                recompute(group);
+            }
+        }
+    }
+
+    /**
+     * 그룹 통계 재계산 후 스냅샷(최초) 또는 변경 섹션(delta) 전송 - group 락 안에서 호출
+     */
+    private void recompute(StreamGroup group) {
+        group.dirty = false;
+        Map<String, Object> next;
+        try {
+            StreamKey key = group.key;
+            next = complaintService.getDashboardStats(key.agencyNo(), key.category(), key.timeBasis().name());
+        } catch (Exception e) {
+            group.dirty = true;
+            log.warn("대시보드 스트림 통계 계산 실패 - {}: {}", group.key, e.getMessage());
+            return;
+        }
+
+        Map<String, Object> previous = group.snapshot;
+        group.snapshot = next;
+
+        if (previous == null) {
+            group.version++;
+            for (Subscriber subscriber : group.subscribers) {
+                sendSnapshot(group, subscriber);
+            }
+            return;
+        }
+
+        Map<String, Object> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : next.entrySet()) {
+            if (!Objects.equals(entry.getValue(), previous.get(entry.getKey()))) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        group.version++;
+        Map<String, Object> delta = Map.of("version", group.version, "sections", changed);
+        for (Subscriber subscriber : group.subscribers) {
+            if (subscriber.ready) {
+                send(subscriber, "delta", delta);
+            }
+        }
+    }
+
+    private void sendSnapshot(StreamGroup group, Subscriber subscriber) {
+        send(subscriber, "snapshot", Map.of("version", group.version, "sections", group.snapshot));
+        subscriber.ready = true;
+    }
+
+    // 허브 송신 큐에 넣기만 함 (실패한 연결은 허브가 닫고 onClosed 로 구독 해제)
+    private void send(Subscriber subscriber, String name, Object data) {
+        subscriber.stream.send(SseEmitter.event().name(name).data(data));
+    }
+
+    // 구독자가 들어 있는 그룹은 비어 있지 않으므로 항상 key 에 매핑된 현재 그룹이다
+    private void removeSubscriber(StreamKey key, Subscriber subscriber) {
+        groups.computeIfPresent(key, (k, g) -> {
+            g.subscribers.remove(subscriber);
+            return g.subscribers.isEmpty() ? null : g;
+        });
+    }
+
+    private void removeIfEmpty(StreamGroup group) {
+        groups.computeIfPresent(group.key, (k, g) -> g == group && g.subscribers.isEmpty() ? null : g);
+    }
+
+    private boolean affects(StreamKey key, ComplaintSnapshot snapshot) {
+        if (snapshot == null) {
+            return false;
+        }
+        if (key.category() != null && !key.category().equals(snapshot.category())) {
+            return false;
+        }
+        return key.agencyNo() == null
+                || (snapshot.agencyNos() != null && snapshot.agencyNos().contains(key.agencyNo()));
+    }
+
+    private Long resolveAgencyNo(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        Authentication auth = jwtTokenProvider.authenticate(token);
+        if (auth == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
+        }
+        boolean agency = auth.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_AGENCY".equals(a.getAuthority()));
+        if (agency && auth.getPrincipal() instanceof CustomUserDetails details) {
+            return details.getAgencyNo();
+        }
+        return null;
+    }
+
+    /**
+     * 집계 단위 검증 - 알 수 없는 값마다 그룹이 새로 생겨 tick 마다 재계산되지 않도록 400 으로 거부
+     */
+    private static TrendGranularity parseTimeBasis(String timeBasis) {
+        if (timeBasis == null || timeBasis.isBlank()) {
+            return TrendGranularity.MONTH;
+        }
+        try {
+            return TrendGranularity.valueOf(timeBasis.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 timeBasis 입니다: " + timeBasis);
+        }
+    }
+
+    private static String normalizeCategory(String category) {
+        if (category == null || category.isBlank() || "전체".equals(category)) {
+            return null;
+        }
+        return category;
+    }
+}
@@ -0,0 +1,205 @@
+package com.safeguard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safeguard.mapper.DistrictMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 행정구역(시군구) 경계 인덱스
+ *
+ * - 번들 경계 파일(GeoJSON, properties.code / properties.name)을 기동 시 적재하여
+ *   STRtree(경계 사각형) + IndexedPointInAreaLocator(정밀 판정)로 좌표 → 시군구 코드를 찾는다.
+ * - 민원 등록 시 complaint.district_code 를 이 인덱스로 결정하고,
+ *   통계 SQL 은 주소 문자열 대신 district_code 로 그룹핑한 뒤 district 테이블에서 이름을 붙인다.
+ * - 기동 완료 시 district 테이블을 경계 파일 기준으로 갱신한다.
+ *   (좌표 판정 캐시와 기존 민원 코드 백필은 ReverseGeocoder)
+ * - 경계 밖 좌표(경계 파일에 없는 지역)는 null 이며, 집계 시 기존 주소 규칙으로 대체된다.
+ */
+@Slf4j
+@Component
+public class DistrictBoundaryIndex {
+
+    // 행정표준코드 앞 2자리 → 시도
+    private static final Map<String, String> SIDO_NAMES = Map.ofEntries(
+            Map.entry("11", "서울특별시"), Map.entry("26", "부산광역시"), Map.entry("27", "대구광역시"),
+            Map.entry("28", "인천광역시"), Map.entry("29", "광주광역시"), Map.entry("30", "대전광역시"),
+            Map.entry("31", "울산광역시"), Map.entry("36", "세종특별자치시"), Map.entry("41", "경기도"),
+            Map.entry("42", "강원특별자치도"), Map.entry("51", "강원특별자치도"), Map.entry("43", "충청북도"),
+            Map.entry("44", "충청남도"), Map.entry("45", "전북특별자치도"), Map.entry("52", "전북특별자치도"),
+            Map.entry("46", "전라남도"), Map.entry("47", "경상북도"), Map.entry("48", "경상남도"),
+            Map.entry("50", "제주특별자치도"));
+
+    private final DistrictMapper districtMapper;
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    private final Map<Integer, District> byCode = new LinkedHashMap<>();
+    private final STRtree tree = new STRtree();
+
+    public DistrictBoundaryIndex(DistrictMapper districtMapper, ObjectMapper objectMapper,
+            ResourceLoader resourceLoader,
+            @Value("${district.boundary-file:classpath:geo/sigungu.geojson}") String boundaryFile) {
+        this.districtMapper = districtMapper;
+        load(objectMapper, resourceLoader.getResource(boundaryFile));
+    }
+
+    /**
+     * 시군구 (경계 파일 1개 feature)
+     */
+    public record District(int code, String sidoName, String name, Geometry boundary,
+            IndexedPointInAreaLocator locator) {
+
+        /**
+         * 지도 통계 표시 이름 (selectDistrictCounts 의 주소 규칙과 동일한 형태)
+         * - 서울: '서울특별시 강남구', 광역시/세종: 시 단위, 그 외: '경기도 수원시'
+         */
+        public String mapName() {
+            if (sidoName.endsWith("광역시") || sidoName.equals("세종특별자치시")) {
+                return sidoName;
+            }
+            return (sidoName + " " + name).trim();
+        }
+
+        boolean contains(Coordinate c) {
+            return locator.locate(c) != Location.EXTERIOR;
+        }
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /**
+     * 좌표가 속한 시군구 코드 (경계 밖이거나 좌표가 없으면 null)
+     */
+    public Integer locate(Double lng, Double lat) {
+        if (lng == null || lat == null || byCode.isEmpty()) {
+            return null;
+        }
+        Coordinate c = new Coordinate(lng, lat);
+        @SuppressWarnings("unchecked")
+        List<District> candidates = tree.query(new Envelope(c));
+        for (District d : candidates) {
+            if (d.contains(c)) {
+                return d.code();
+            }
+        }
+        return null;
+    }
+
+    public District get(Integer code) {
+        return code != null ? byCode.get(code) : null;
+    }
+
+    public Collection<District> districts() {
+        return Collections.unmodifiableCollection(byCode.values());
+    }
+
+    // =========================
+    // DB 동기화
+    // =========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void synchronize() {
+        try {
+            for (District d : byCode.values()) {
+                districtMapper.upsertDistrict(d.code(), d.sidoName(), d.name(), d.mapName(), d.boundary());
+            }
+        } catch (Exception e) {
+            // 테이블 미생성 등: 집계 시 시군구 이름은 주소 규칙으로 대체
+            log.warn("시군구 경계 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    // =========================
+    // 경계 파일 적재
+    // =========================
+
+    private void load(ObjectMapper objectMapper, Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            JsonNode root = objectMapper.readTree(in);
+            for (JsonNode feature : root.path("features")) {
+                JsonNode props = feature.path("properties");
+                String codeText = props.path("code").asText(null);
+                Geometry boundary = toGeometry(feature.path("geometry"));
+                if (codeText == null || boundary == null) {
+                    continue;
+                }
+                int code = Integer.parseInt(codeText.substring(0, Math.min(5, codeText.length())));
+                String sido = SIDO_NAMES.getOrDefault(codeText.substring(0, 2), "");
+                District district = new District(code, sido, props.path("name").asText(""), boundary,
+                        new IndexedPointInAreaLocator(boundary));
+                byCode.put(code, district);
+                tree.insert(boundary.getEnvelopeInternal(), district);
+            }
+            tree.build();
+            log.info("시군구 경계 적재 완료 - {}개 ({})", byCode.size(), resource.getDescription());
+        } catch (Exception e) {
+            log.warn("시군구 경계 파일 적재 실패 (주소 규칙으로 대체): {}", e.getMessage());
+            byCode.clear();
+        }
+    }
+
+    private Geometry toGeometry(JsonNode geometry) {
+        String type = geometry.path("type").asText("");
+        JsonNode coords = geometry.path("coordinates");
+        switch (type) {
+            case "Polygon":
+                return geometryFactory.createMultiPolygon(new Polygon[] { toPolygon(coords) });
+            case "MultiPolygon":
+                Polygon[] polygons = new Polygon[coords.size()];
+                for (int i = 0; i < coords.size(); i++) {
+                    polygons[i] = toPolygon(coords.get(i));
+                }
+                return geometryFactory.createMultiPolygon(polygons);
+            default:
+                return null;
+        }
+    }
+
+    private Polygon toPolygon(JsonNode rings) {
+        LinearRing shell = toRing(rings.get(0));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = toRing(rings.get(i));
+        }
+        return geometryFactory.createPolygon(shell, holes);
+    }
+
+    private LinearRing toRing(JsonNode ring) {
+        Coordinate[] coordinates = new Coordinate[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            coordinates[i] = new Coordinate(ring.get(i).get(0).asDouble(), ring.get(i).get(1).asDouble());
+        }
+        // 닫히지 않은 링 보정
+        if (coordinates.length > 0 && !coordinates[0].equals2D(coordinates[coordinates.length - 1])) {
+            Coordinate[] closed = java.util.Arrays.copyOf(coordinates, coordinates.length + 1);
+            closed[coordinates.length] = coordinates[0];
+            coordinates = closed;
+        }
+        return geometryFactory.createLinearRing(coordinates);
+    }
+}
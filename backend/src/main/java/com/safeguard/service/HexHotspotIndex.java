@@ -0,0 +1,361 @@
+package com.safeguard.service;
+
+import com.safeguard.common.TxSnapshot;
+import com.safeguard.dto.HotspotCellDto;
+import com.safeguard.dto.MapHotspotDto;
+import com.safeguard.dto.MapSearchRequest;
+import com.safeguard.event.ComplaintBulkChangeEvent;
+import com.safeguard.event.ComplaintChangeEvent;
+import com.safeguard.event.ComplaintSnapshot;
+import com.safeguard.mapper.ComplaintGisMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 육각 핫스팟 집계 (다중 해상도, 증분 유지)
+ *
+ * 요청마다 ST_HexagonGrid 를 만들어 spatial_feature 와 공간 조인하던 selectHotspots 를 대체한다.
+ * - 해상도: getHotspots 에서 쓰던 0.005 / 0.02 / 0.05 도
+ * - 셀 번호(i, j)는 PostGIS ST_HexagonGrid 와 같은 규칙 (flat-top, 원점 0,0, 홀수 열은 반 칸 위)
+ * - 셀마다 (카테고리, 상태, 기관 범위) 차원별 건수를 유지한다. 기관 범위는 null(전체) + 배정된 각 기관.
+ * - 생성/상태 변경/삭제 이벤트로 증분 반영, 주기적으로 DB 기준 재구성
+ *   재구성 중 이벤트는 journal 에 모아, 재구성 쿼리 스냅샷에 보이지 않는 것(이후 커밋)만 재적용 (SnapshotReader)
+ *   재구성 도중 일괄 변경이 들어오면(세대 번호 변경) 그 결과로는 ready 로 바꾸지 않는다.
+ * - 조회는 뷰포트에 걸치는 셀만 순회하므로 민원 건수와 무관하다.
+ */
+@Slf4j
+@Component
+public class HexHotspotIndex {
+
+    public static final double[] RESOLUTIONS = { 0.005, 0.02, 0.05 };
+    private static final double SQRT3 = Math.sqrt(3.0);
+
+    private final ComplaintGisMapper gisMapper;
+    private final SnapshotReader snapshotReader;
+    private final boolean enabled;
+    private final long reloadIntervalMs;
+
+    private volatile State state = new State();
+    private volatile boolean ready = false;
+    private volatile long lastReloadAt = 0L;
+    // 일괄 변경마다 증가 - 재적재 시작 이후 바뀌었으면 그 결과는 이미 낡은 것
+    private final AtomicLong staleGeneration = new AtomicLong();
+
+    private final Object eventLock = new Object();
+    private List<ComplaintChangeEvent> journal = null;
+
+    public HexHotspotIndex(ComplaintGisMapper gisMapper, SnapshotReader snapshotReader,
+            @Value("${map.hotspot.enabled:true}") boolean enabled,
+            @Value("${map.hotspot.reload-interval-ms:600000}") long reloadIntervalMs) {
+        this.gisMapper = gisMapper;
+        this.snapshotReader = snapshotReader;
+        this.enabled = enabled;
+        this.reloadIntervalMs = reloadIntervalMs;
+    }
+
+    record DimKey(String category, String status, Long agencyNo) {
+    }
+
+    /**
+     * 해상도별 셀: i → (j → 차원별 건수)
+     */
+    private static final class State {
+        @SuppressWarnings("unchecked")
+        final NavigableMap<Long, NavigableMap<Long, Map<DimKey, Long>>>[] levels = new NavigableMap[RESOLUTIONS.length];
+
+        State() {
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                levels[r] = new ConcurrentSkipListMap<>();
+            }
+        }
+
+        void add(int res, long i, long j, DimKey dim, long delta) {
+            levels[res].computeIfAbsent(i, k -> new ConcurrentSkipListMap<>())
+                    .computeIfAbsent(j, k -> new ConcurrentHashMap<>())
+                    .merge(dim, delta, (a, b) -> {
+                        long sum = a + b;
+                        return sum == 0 ? null : sum;
+                    });
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * getHotspots 와 동일한 줌 → 해상도 선택
+     */
+    public static int resolutionFor(Integer zoom) {
+        if (zoom == null || zoom >= 10) {
+            return 0;
+        }
+        return zoom < 8 ? 2 : 1;
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /**
+     * 뷰포트 내 셀별 건수 (기간 조건은 지원하지 않음 - 호출 측에서 확인)
+     */
+    public List<HotspotCellDto> cells(MapSearchRequest req) {
+        int res = resolutionFor(req.getZoom());
+        double size = RESOLUTIONS[res];
+        NavigableMap<Long, NavigableMap<Long, Map<DimKey, Long>>> level = state.levels[res];
+
+        NavigableMap<Long, NavigableMap<Long, Map<DimKey, Long>>> columns = level;
+        Long jMin = null;
+        Long jMax = null;
+        if (req.getSwLat() != null && req.getSwLng() != null && req.getNeLat() != null && req.getNeLng() != null) {
+            // 셀 반지름만큼 여유를 두어 경계에 걸친 셀 포함
+            long iMin = (long) Math.floor((req.getSwLng() - size) / (1.5 * size));
+            long iMax = (long) Math.ceil((req.getNeLng() + size) / (1.5 * size));
+            jMin = (long) Math.floor((req.getSwLat() - size) / (SQRT3 * size)) - 1;
+            jMax = (long) Math.ceil((req.getNeLat() + size) / (SQRT3 * size));
+            columns = level.subMap(iMin, true, iMax, true);
+        }
+
+        Long agencyScope = req.getAgencyNo();
+        List<HotspotCellDto> result = new ArrayList<>();
+        for (Map.Entry<Long, NavigableMap<Long, Map<DimKey, Long>>> col : columns.entrySet()) {
+            long i = col.getKey();
+            NavigableMap<Long, Map<DimKey, Long>> rows = (jMin != null)
+                    ? col.getValue().subMap(jMin, true, jMax, true)
+                    : col.getValue();
+            for (Map.Entry<Long, Map<DimKey, Long>> row : rows.entrySet()) {
+                long count = 0;
+                for (Map.Entry<DimKey, Long> dim : row.getValue().entrySet()) {
+                    DimKey key = dim.getKey();
+                    if (java.util.Objects.equals(key.agencyNo(), agencyScope)
+                            && matches(key.category(), key.status(), req)) {
+                        count += dim.getValue();
+                    }
+                }
+                if (count > 0) {
+                    result.add(toCell(size, i, row.getKey(), count));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 임의 포인트 목록을 셀로 집계 (기간 조건 등 사전 집계 차원에 없는 필터용)
+     */
+    public static List<HotspotCellDto> aggregate(Integer zoom, java.util.stream.Stream<double[]> lngLats) {
+        double size = RESOLUTIONS[resolutionFor(zoom)];
+        Map<List<Long>, Long> counts = new java.util.HashMap<>();
+        lngLats.forEach(p -> {
+            long[] cell = cellOf(size, p[0], p[1]);
+            counts.merge(List.of(cell[0], cell[1]), 1L, Long::sum);
+        });
+        List<HotspotCellDto> result = new ArrayList<>(counts.size());
+        counts.forEach((cell, count) -> result.add(toCell(size, cell.get(0), cell.get(1), count)));
+        return result;
+    }
+
+    /**
+     * 셀 번호로 응답 DTO 구성
+     */
+    public static HotspotCellDto toCell(double size, long i, long j, long count) {
+        double[] center = center(size, i, j);
+        return new HotspotCellDto(i + "_" + j, i, j, size, center[1], center[0], count);
+    }
+
+    /**
+     * 기존 /hotspots 응답 형식 (셀 정점 포함, 닫힌 링 7개 점)
+     */
+    public static MapHotspotDto toHotspot(HotspotCellDto cell) {
+        double size = cell.getSize();
+        double[] center = center(size, cell.getI(), cell.getJ());
+        double height = SQRT3 * size;
+        double[] hx = { -1.0, -0.5, 0.5, 1.0, 0.5, -0.5, -1.0 };
+        double[] hy = { 0.0, -0.5, -0.5, 0.0, 0.5, 0.5, 0.0 };
+        List<MapHotspotDto.PointDto> points = new ArrayList<>(hx.length);
+        for (int k = 0; k < hx.length; k++) {
+            points.add(new MapHotspotDto.PointDto(center[1] + height * hy[k], center[0] + size * hx[k]));
+        }
+        return new MapHotspotDto(cell.getCellId(), cell.getCount().intValue(), points);
+    }
+
+    // =========================
+    // 이벤트 반영
+    // =========================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (eventLock) {
+            apply(state, event);
+            if (journal != null) {
+                journal.add(event);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ComplaintBulkChangeEvent event) {
+        staleGeneration.incrementAndGet();
+        ready = false;
+    }
+
+    private void apply(State target, ComplaintChangeEvent event) {
+        if (event.before() != null) {
+            applySnapshot(target, event.before(), -1);
+        }
+        if (event.after() != null) {
+            applySnapshot(target, event.after(), +1);
+        }
+    }
+
+    private void applySnapshot(State target, ComplaintSnapshot s, long sign) {
+        if (s.latitude() == null || s.longitude() == null || s.status() == null || "DELETED".equals(s.status())) {
+            return;
+        }
+        add(target, s.longitude(), s.latitude(), s.category(), s.status(), s.agencyNos(), sign);
+    }
+
+    private static void add(State target, double lng, double lat, String category, String status,
+            List<Long> agencyNos, long delta) {
+        for (int res = 0; res < RESOLUTIONS.length; res++) {
+            long[] cell = cellOf(RESOLUTIONS[res], lng, lat);
+            target.add(res, cell[0], cell[1], new DimKey(category, status, null), delta);
+            for (Long agencyNo : agencyNos) {
+                target.add(res, cell[0], cell[1], new DimKey(category, status, agencyNo), delta);
+            }
+        }
+    }
+
+    // =========================
+    // 재구성
+    // =========================
+
+    @Scheduled(fixedDelayString = "${map.hotspot.check-interval-ms:10000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        if (!ready || System.currentTimeMillis() - lastReloadAt >= reloadIntervalMs) {
+            reload();
+        }
+    }
+
+    public void reload() {
+        long started = System.currentTimeMillis();
+        long generation = staleGeneration.get();
+        // 스냅샷보다 먼저 journal 을 열어야 스냅샷 이후 커밋된 변경의 이벤트가 빠지지 않는다
+        synchronized (eventLock) {
+            journal = new ArrayList<>();
+        }
+        try {
+            SnapshotReader.Result<List<Map<String, Object>>> result =
+                    snapshotReader.read(() -> gisMapper.selectSpatialIndexEntries(null));
+            State loaded = new State();
+            int rows = 0;
+            for (Map<String, Object> row : result.value()) {
+                String agencyCsv = (String) row.get("agency_nos");
+                List<Long> agencyNos = new ArrayList<>();
+                if (agencyCsv != null && !agencyCsv.isEmpty()) {
+                    for (String no : agencyCsv.split(",")) {
+                        agencyNos.add(Long.parseLong(no));
+                    }
+                }
+                add(loaded, ((Number) row.get("lng")).doubleValue(), ((Number) row.get("lat")).doubleValue(),
+                        (String) row.get("category"), (String) row.get("status"), agencyNos, 1);
+                rows++;
+            }
+            TxSnapshot snapshot = result.snapshot();
+            boolean unknown = false;
+            synchronized (eventLock) {
+                for (ComplaintChangeEvent event : journal) {
+                    if (event.txid() == null) {
+                        // 트랜잭션 밖 변경: 반영 여부를 알 수 없음 → 다음 주기에 다시 재구성
+                        unknown = true;
+                    } else if (!snapshot.sees(event.txid())) {
+                        apply(loaded, event);
+                    }
+                }
+                state = loaded;
+                journal = null;
+            }
+            if (staleGeneration.get() == generation) {
+                ready = true;
+            }
+            lastReloadAt = unknown ? 0L : System.currentTimeMillis();
+            log.info("핫스팟 집계 재구성 완료 - 민원 {}건, 소요: {}ms", rows, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            synchronized (eventLock) {
+                journal = null;
+            }
+            log.error("핫스팟 집계 재구성 실패: {}", e.getMessage());
+        }
+    }
+
+    // =========================
+    // 육각 격자 계산 (ST_HexagonGrid 호환)
+    // =========================
+
+    /**
+     * 좌표가 속한 셀 (i, j) - 축(axial) 좌표로 변환 후 큐브 반올림
+     */
+    static long[] cellOf(double size, double x, double y) {
+        double q = (2.0 / 3.0 * x) / size;
+        double r = (-1.0 / 3.0 * x + SQRT3 / 3.0 * y) / size;
+
+        double cx = q;
+        double cz = r;
+        double cy = -cx - cz;
+        long rx = Math.round(cx);
+        long ry = Math.round(cy);
+        long rz = Math.round(cz);
+        double dx = Math.abs(rx - cx);
+        double dy = Math.abs(ry - cy);
+        double dz = Math.abs(rz - cz);
+        if (dx > dy && dx > dz) {
+            rx = -ry - rz;
+        } else if (dy <= dz) {
+            rz = -rx - ry;
+        }
+
+        long i = rx;
+        long j = rz + (i - (i & 1)) / 2;
+        return new long[] { i, j };
+    }
+
+    /**
+     * 셀 중심 {x(경도), y(위도)}
+     */
+    static double[] center(double size, long i, long j) {
+        double x = 1.5 * size * i;
+        double y = SQRT3 * size * (j + ((i & 1) != 0 ? 0.5 : 0.0));
+        return new double[] { x, y };
+    }
+
+    private static boolean matches(String category, String status, MapSearchRequest req) {
+        String reqCategory = req.getCategory();
+        if (reqCategory != null && !reqCategory.isEmpty() && !"전체".equals(reqCategory)
+                && !reqCategory.equals(category)) {
+            return false;
+        }
+        String reqStatus = req.getStatus();
+        if (reqStatus != null && !reqStatus.isEmpty() && !"전체".equals(reqStatus)) {
+            return reqStatus.equals(status);
+        }
+        return !(Boolean.FALSE.equals(req.getShowCompleted()) && "COMPLETED".equals(status));
+    }
+}
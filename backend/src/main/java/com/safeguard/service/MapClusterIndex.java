@@ -0,0 +1,346 @@
+package com.safeguard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safeguard.dto.MapItemDto;
+import com.safeguard.dto.MapItemType;
+import com.safeguard.dto.MapSearchRequest;
+import com.safeguard.event.ComplaintBulkChangeEvent;
+import com.safeguard.event.ComplaintChangeEvent;
+import com.safeguard.event.ComplaintSnapshot;
+import com.safeguard.mapper.ComplaintGisMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지도 클러스터 인덱스 (supercluster 방식의 줌 레벨별 계층 클러스터)
+ *
+ * - 필터 조건(카테고리/상태/기간/기관)별로 전체 포인트를 한 번 적재하여
+ *   최대 줌부터 최소 줌까지 반경(px) 기준 그리디 병합으로 레벨별 클러스터를 미리 만든다.
+ * - 요청 시에는 해당 줌 레벨의 STRtree 에서 뷰포트 범위만 조회하므로 전국 단위 이동도 SQL 없이 처리된다.
+ * - 좌표는 웹 메르카토르 정규화 좌표(0~1)를 사용하며, Kakao 레벨은 zoom = 20 - level 로 근사한다.
+ * - 필터 조건에 맞는 포인트는 건수 제한 없이 모두 적재한다. (잘라내면 클러스터 건수가 실제보다 작아짐)
+ * - 민원 변경 이벤트 수신 시 변경 전/후 민원이 필터에 걸리는 인덱스만 무효화 (다음 요청에서 재구성)
+ *   대량 변경(일괄 처리/시드)은 전체 무효화
+ */
+@Slf4j
+@Component
+public class MapClusterIndex {
+
+    private static final int MIN_ZOOM = 0;
+    private static final int MAX_ZOOM = 16; // 이보다 확대되면 개별 마커
+    private static final int LEAF_ZOOM = MAX_ZOOM + 1;
+    private static final double EXTENT = 512.0; // 타일 한 변 픽셀 수
+
+    private final ComplaintGisMapper gisMapper;
+    private final ComplaintSpatialIndex spatialIndex;
+    private final double radiusPx;
+    private final int markerThreshold;
+    private final Cache<FilterKey, Hierarchy> cache;
+
+    public MapClusterIndex(ComplaintGisMapper gisMapper, ComplaintSpatialIndex spatialIndex, MeterRegistry meterRegistry,
+            @Value("${map.cluster.radius-px:60}") double radiusPx,
+            @Value("${map.cluster.marker-threshold:300}") int markerThreshold,
+            @Value("${map.cluster.cache-size:32}") long cacheSize,
+            @Value("${map.cluster.ttl-seconds:60}") long ttlSeconds) {
+        this.gisMapper = gisMapper;
+        this.spatialIndex = spatialIndex;
+        this.radiusPx = radiusPx;
+        this.markerThreshold = markerThreshold;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "mapCluster");
+    }
+
+    /**
+     * 인덱스 키 - 뷰포트/줌을 제외한 필터 조건
+     */
+    record FilterKey(String category, String status, Boolean showCompleted,
+            OffsetDateTime from, OffsetDateTime to, Long agencyNo) {
+
+        static FilterKey of(MapSearchRequest req) {
+            return new FilterKey(req.getCategory(), req.getStatus(), req.getShowCompleted(),
+                    req.getFrom(), req.getTo(), req.getAgencyNo());
+        }
+
+        /**
+         * 민원이 이 필터의 인덱스에 포함되는지 (ComplaintSpatialIndex.matches / CommonConditions 와 같은 규칙)
+         */
+        boolean matches(ComplaintSnapshot c) {
+            if (c == null || c.latitude() == null || c.longitude() == null || "DELETED".equals(c.status())) {
+                return false;
+            }
+            if (category != null && !category.isEmpty() && !"전체".equals(category) && !category.equals(c.category())) {
+                return false;
+            }
+            if (status != null && !status.isEmpty() && !"전체".equals(status)) {
+                if (!status.equals(c.status())) {
+                    return false;
+                }
+            } else if (Boolean.FALSE.equals(showCompleted) && "COMPLETED".equals(c.status())) {
+                return false;
+            }
+            if (from != null && (c.createdDate() == null || c.createdDate().isBefore(from))) {
+                return false;
+            }
+            if (to != null && (c.createdDate() == null || c.createdDate().isAfter(to))) {
+                return false;
+            }
+            return agencyNo == null || c.agencyNos() != null && c.agencyNos().contains(agencyNo);
+        }
+
+        MapSearchRequest toRequest() {
+            MapSearchRequest req = new MapSearchRequest();
+            req.setCategory(category);
+            req.setStatus(status);
+            req.setShowCompleted(showCompleted);
+            req.setFrom(from);
+            req.setTo(to);
+            req.setAgencyNo(agencyNo);
+            return req;
+        }
+    }
+
+    /**
+     * 레벨별 노드: 원본 포인트(point != null, count == 1) 또는 병합된 클러스터
+     */
+    static final class Node {
+        final double x;
+        final double y;
+        final int count;
+        final long id;
+        final MapItemDto point;
+
+        Node(double x, double y, int count, long id, MapItemDto point) {
+            this.x = x;
+            this.y = y;
+            this.count = count;
+            this.id = id;
+            this.point = point;
+        }
+    }
+
+    static final class Hierarchy {
+        final STRtree[] trees = new STRtree[LEAF_ZOOM + 1];
+    }
+
+    /**
+     * 뷰포트 내 지도 아이템
+     * - 뷰포트 포인트 수가 임계값 이하이거나 충분히 확대된 경우: 개별 마커
+     * - 그 외: 해당 줌 레벨의 클러스터 (단일 포인트는 마커로 반환)
+     */
+    public List<MapItemDto> getItems(MapSearchRequest req, int limit) {
+        Hierarchy hierarchy = cache.get(FilterKey.of(req), this::build);
+        Envelope view = viewport(req);
+        int zoom = zoomFor(req.getZoom());
+
+        @SuppressWarnings("unchecked")
+        List<Node> leaves = hierarchy.trees[LEAF_ZOOM].query(view);
+        if (zoom >= LEAF_ZOOM || leaves.size() <= markerThreshold) {
+            return leaves.stream()
+                    .sorted(Comparator.comparingLong((Node n) -> n.id).reversed())
+                    .limit(limit)
+                    .map(n -> n.point)
+                    .toList();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Node> nodes = hierarchy.trees[zoom].query(view);
+        return nodes.stream()
+                .sorted(Comparator.comparingInt((Node n) -> n.count).reversed())
+                .limit(limit)
+                .map(n -> toItem(n, zoom))
+                .toList();
+    }
+
+    @Order(10) // ComplaintSpatialIndex 반영 이후 무효화
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangeEvent event) {
+        // 변경 전에 포함됐던(빠지거나 바뀐) 인덱스 + 변경 후 포함될 인덱스만 재구성
+        List<FilterKey> stale = cache.asMap().keySet().stream()
+                .filter(key -> key.matches(event.before()) || key.matches(event.after()))
+                .toList();
+        cache.invalidateAll(stale);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ComplaintBulkChangeEvent event) {
+        cache.invalidateAll();
+    }
+
+    // =========================
+    // 인덱스 구성
+    // =========================
+
+    private Hierarchy build(FilterKey key) {
+        long started = System.currentTimeMillis();
+        // 공간 인덱스가 적재되어 있으면 메모리에서, 아니면 SQL 로 포인트 적재
+        List<MapItemDto> points = spatialIndex.isReady()
+                ? spatialIndex.markers(key.toRequest(), Integer.MAX_VALUE, 0)
+                : gisMapper.selectMapPoints(key.toRequest());
+
+        List<Node> nodes = new ArrayList<>(points.size());
+        for (MapItemDto p : points) {
+            if (p.getLat() == null || p.getLng() == null) {
+                continue;
+            }
+            nodes.add(new Node(lngX(p.getLng()), latY(p.getLat()), 1, p.getComplaintNo(), p));
+        }
+
+        Hierarchy hierarchy = new Hierarchy();
+        hierarchy.trees[LEAF_ZOOM] = index(nodes);
+        long nextClusterId = 0;
+        for (int z = MAX_ZOOM; z >= MIN_ZOOM; z--) {
+            List<Node> merged = new ArrayList<>();
+            nextClusterId = clusterLevel(nodes, z, merged, nextClusterId);
+            nodes = merged;
+            hierarchy.trees[z] = index(nodes);
+        }
+
+        log.info("지도 클러스터 인덱스 구성 - 필터: {}, 포인트: {}건, {}ms",
+                key, points.size(), System.currentTimeMillis() - started);
+        return hierarchy;
+    }
+
+    /**
+     * 한 줌 레벨의 그리디 병합 - 반경 r 격자 해시로 이웃 탐색
+     */
+    private long clusterLevel(List<Node> nodes, int zoom, List<Node> out, long nextClusterId) {
+        double r = radiusPx / (EXTENT * Math.pow(2, zoom));
+
+        Map<Long, List<Integer>> grid = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            Node n = nodes.get(i);
+            grid.computeIfAbsent(cellKey((long) Math.floor(n.x / r), (long) Math.floor(n.y / r)),
+                    k -> new ArrayList<>()).add(i);
+        }
+
+        boolean[] visited = new boolean[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            if (visited[i]) {
+                continue;
+            }
+            visited[i] = true;
+            Node n = nodes.get(i);
+
+            long cx = (long) Math.floor(n.x / r);
+            long cy = (long) Math.floor(n.y / r);
+            double wx = n.x * n.count;
+            double wy = n.y * n.count;
+            int count = n.count;
+            boolean mergedAny = false;
+
+            for (long gx = cx - 1; gx <= cx + 1; gx++) {
+                for (long gy = cy - 1; gy <= cy + 1; gy++) {
+                    List<Integer> cell = grid.get(cellKey(gx, gy));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int j : cell) {
+                        if (visited[j]) {
+                            continue;
+                        }
+                        Node m = nodes.get(j);
+                        double dx = m.x - n.x;
+                        double dy = m.y - n.y;
+                        if (dx * dx + dy * dy <= r * r) {
+                            visited[j] = true;
+                            wx += m.x * m.count;
+                            wy += m.y * m.count;
+                            count += m.count;
+                            mergedAny = true;
+                        }
+                    }
+                }
+            }
+
+            out.add(mergedAny ? new Node(wx / count, wy / count, count, nextClusterId++, null) : n);
+        }
+        return nextClusterId;
+    }
+
+    private static STRtree index(List<Node> nodes) {
+        STRtree tree = new STRtree();
+        for (Node n : nodes) {
+            tree.insert(new Envelope(n.x, n.x, n.y, n.y), n);
+        }
+        tree.build();
+        return tree;
+    }
+
+    private static long cellKey(long gx, long gy) {
+        return (gx << 32) ^ (gy & 0xffffffffL);
+    }
+
+    // =========================
+    // 좌표 변환
+    // =========================
+
+    private static MapItemDto toItem(Node n, int zoom) {
+        if (n.point != null) {
+            return n.point;
+        }
+        MapItemDto item = new MapItemDto();
+        item.setType(MapItemType.CLUSTER);
+        item.setLat(yLat(n.y));
+        item.setLng(xLng(n.x));
+        item.setCount(n.count);
+        item.setClusterKey(zoom + "/" + n.id);
+        return item;
+    }
+
+    private static Envelope viewport(MapSearchRequest req) {
+        if (req.getSwLat() == null || req.getSwLng() == null || req.getNeLat() == null || req.getNeLng() == null) {
+            return new Envelope(0, 1, 0, 1);
+        }
+        // 위도가 클수록 y 가 작다
+        return new Envelope(lngX(req.getSwLng()), lngX(req.getNeLng()), latY(req.getNeLat()), latY(req.getSwLat()));
+    }
+
+    /**
+     * Kakao 지도 레벨(1: 최대 확대 ~ 14: 최대 축소) → 웹 메르카토르 줌
+     */
+    private static int zoomFor(Integer kakaoLevel) {
+        if (kakaoLevel == null) {
+            return LEAF_ZOOM;
+        }
+        return Math.max(MIN_ZOOM, Math.min(LEAF_ZOOM, 20 - kakaoLevel));
+    }
+
+    private static double lngX(double lng) {
+        return lng / 360.0 + 0.5;
+    }
+
+    private static double latY(double lat) {
+        double sin = Math.sin(Math.toRadians(lat));
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return Math.max(0, Math.min(1, y));
+    }
+
+    private static double xLng(double x) {
+        return (x - 0.5) * 360.0;
+    }
+
+    private static double yLat(double y) {
+        double y2 = (180 - y * 360) * Math.PI / 180;
+        return 360 * Math.atan(Math.exp(y2)) / Math.PI - 90;
+    }
+}
@@ -0,0 +1,169 @@
+package com.safeguard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safeguard.dto.MapSearchRequest;
+import com.safeguard.event.ComplaintBulkChangeEvent;
+import com.safeguard.event.ComplaintChangeEvent;
+import com.safeguard.event.ComplaintSnapshot;
+import com.safeguard.mapper.ComplaintGisMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Envelope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 지도 벡터 타일(MVT) 서비스
+ * - 타일은 PostGIS ST_AsMVT 로 생성 (complaints 포인트 + hotspots 육각 셀 + districts 시군구 경계 레이어)
+ * - (z, x, y, 필터 조건) 단위로 캐시하고, 민원 변경 시 해당 좌표를 포함하는 타일만 무효화한다.
+ *   districts 레이어는 시군구 전체 건수를 담으므로 해당 시군구 경계와 겹치는 타일도 함께 무효화한다.
+ * - ETag 는 타일 내용의 해시 (조건부 요청 시 304 응답용)
+ */
+@Slf4j
+@Service
+public class MapTileService {
+
+    private static final int MAX_ZOOM = 22;
+    private static final double WORLD_WIDTH_M = 40075016.68557849; // EPSG:3857 한 변 길이
+    private static final double TILE_BUFFER = 64.0 / 4096; // ST_AsMVTGeom buffer 비율
+
+    private final ComplaintGisMapper gisMapper;
+    private final DistrictBoundaryIndex districtBoundaryIndex;
+    private final ReverseGeocoder reverseGeocoder;
+    private final int pointMinZoom;
+    private final int districtMaxZoom;
+    private final double hexPerTile;
+    private final Cache<TileKey, Tile> cache;
+
+    public MapTileService(ComplaintGisMapper gisMapper, DistrictBoundaryIndex districtBoundaryIndex,
+            ReverseGeocoder reverseGeocoder, MeterRegistry meterRegistry,
+            @Value("${map.tiles.point-min-zoom:9}") int pointMinZoom,
+            @Value("${map.tiles.district-max-zoom:13}") int districtMaxZoom,
+            @Value("${map.tiles.hex-per-tile:24}") double hexPerTile,
+            @Value("${map.tiles.cache-size:20000}") long cacheSize,
+            @Value("${map.tiles.ttl-seconds:300}") long ttlSeconds) {
+        this.gisMapper = gisMapper;
+        this.districtBoundaryIndex = districtBoundaryIndex;
+        this.reverseGeocoder = reverseGeocoder;
+        this.pointMinZoom = pointMinZoom;
+        this.districtMaxZoom = districtMaxZoom;
+        this.hexPerTile = hexPerTile;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "mapTile");
+    }
+
+    record TileKey(int z, int x, int y, MapClusterIndex.FilterKey filter) {
+    }
+
+    public record Tile(byte[] data, String etag) {
+    }
+
+    /**
+     * 타일 조회 (캐시 미스 시 생성)
+     */
+    public Tile getTile(int z, int x, int y, MapSearchRequest req) {
+        if (z < 0 || z > MAX_ZOOM || x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 타일 좌표입니다.");
+        }
+        MapClusterIndex.FilterKey filter = MapClusterIndex.FilterKey.of(req);
+        return cache.get(new TileKey(z, x, y, filter), key -> render(key));
+    }
+
+    private Tile render(TileKey key) {
+        // 필터 조건만 사용 (bounds 는 타일 범위로 대체)
+        MapSearchRequest req = key.filter().toRequest();
+        double hexSize = WORLD_WIDTH_M / (1 << key.z()) / hexPerTile;
+        byte[] data = gisMapper.selectComplaintTile(req, key.z(), key.x(), key.y(), hexSize,
+                key.z() >= pointMinZoom, key.z() <= districtMaxZoom);
+        if (data == null) {
+            data = new byte[0];
+        }
+        return new Tile(data, etag(data));
+    }
+
+    // =========================
+    // 무효화
+    // =========================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangeEvent event) {
+        List<double[]> points = new ArrayList<>();
+        List<Envelope> districts = new ArrayList<>();
+        for (ComplaintSnapshot s : new ComplaintSnapshot[] { event.before(), event.after() }) {
+            if (s == null) {
+                continue;
+            }
+            if (s.latitude() == null || s.longitude() == null) {
+                cache.invalidateAll();
+                return;
+            }
+            points.add(new double[] { s.longitude(), s.latitude() });
+            DistrictBoundaryIndex.District district = districtBoundaryIndex
+                    .get(reverseGeocoder.districtCode(s.longitude(), s.latitude()));
+            if (district != null) {
+                districts.add(district.boundary().getEnvelopeInternal());
+            }
+        }
+        cache.asMap().keySet().removeIf(key -> points.stream().anyMatch(p -> covers(key, p[0], p[1]))
+                || (key.z() <= districtMaxZoom && districts.stream().anyMatch(e -> tileEnvelope(key).intersects(e))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ComplaintBulkChangeEvent event) {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 타일(버퍼 포함)이 좌표를 포함하는지 - 육각 셀이 타일 경계를 넘는 경우를 고려해 인접 여유를 둔다.
+     */
+    private static boolean covers(TileKey key, double lng, double lat) {
+        int n = 1 << key.z();
+        double tx = (lng + 180.0) / 360.0 * n;
+        double sin = Math.sin(Math.toRadians(lat));
+        double ty = (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * n;
+        double margin = TILE_BUFFER + 0.5; // 버퍼 + 육각 셀 크기 여유
+        return tx >= key.x() - margin && tx <= key.x() + 1 + margin
+                && ty >= key.y() - margin && ty <= key.y() + 1 + margin;
+    }
+
+    /**
+     * 타일 범위 (경위도)
+     */
+    private static Envelope tileEnvelope(TileKey key) {
+        int n = 1 << key.z();
+        return new Envelope(
+                key.x() / (double) n * 360.0 - 180.0,
+                (key.x() + 1) / (double) n * 360.0 - 180.0,
+                tileLat(key.y() + 1, n),
+                tileLat(key.y(), n));
+    }
+
+    private static double tileLat(int y, int n) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * y / n))));
+    }
+
+    private static String etag(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
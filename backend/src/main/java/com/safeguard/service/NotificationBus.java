@@ -0,0 +1,196 @@
+package com.safeguard.service;
+
+import com.safeguard.common.TransactionHooks;
+import com.safeguard.dto.NotificationDTO;
+import com.safeguard.mapper.NotificationMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 알림 버스 (노드 간 SSE 전달)
+ *
+ * SSE 연결은 노드(JVM)마다 따로 있으므로, outbox 디스패처가 선점한 알림을 모든 노드에 알리고
+ * 각 노드는 자기에게 연결된 사용자 알림만 전송한다.
+ * - mode=local: 단일 노드 - 허브로 바로 전송
+ * - mode=postgres: PostgreSQL LISTEN/NOTIFY (추가 인프라 없음)
+ *   · 발행: 배치당 NOTIFY 1회 (payload "알림번호:사용자번호,..." - 8000 바이트 미만으로 분할)
+ *     NOTIFY 는 트랜잭션에 묶이므로 선점과 같은 트랜잭션에서 보내면 커밋될 때만 전달된다.
+ *   · 수신: 전용 JDBC 연결(커넥션 풀과 별개)에서 LISTEN, 대기 중인 NOTIFY 를 한 번에 모아
+ *     로컬 사용자(연결 중이거나 재전송 버퍼 보유) 알림만 번호로 한 번 조회해 전송 (채널 단위 합치기)
+ *   · 수신 연결이 끊기면 재연결 (끊긴 동안의 알림은 SSE 로 오지 않고 목록 조회로 확인)
+ *
+ * 로컬 검증: Postgres 1대 + 앱 2개(--server.port=8080 / 8081, notification.bus.mode=postgres)
+ */
+@Slf4j
+@Component
+public class NotificationBus {
+
+    // NOTIFY payload 한도(8000 바이트)보다 여유 있게
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+
+    private final NotificationMapper notificationMapper;
+    private final NotificationHub notificationHub;
+    private final boolean postgres;
+    private final String channel;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private volatile boolean running = false;
+    private Thread listener;
+
+    public NotificationBus(NotificationMapper notificationMapper, NotificationHub notificationHub,
+            @Value("${notification.bus.mode:local}") String mode,
+            @Value("${notification.bus.channel:safeguard_notification}") String channel,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${notification.bus.poll-timeout-ms:1000}") long pollTimeoutMs,
+            @Value("${notification.bus.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.notificationMapper = notificationMapper;
+        this.notificationHub = notificationHub;
+        this.postgres = "postgres".equalsIgnoreCase(mode);
+        this.channel = channel;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    // =========================
+    // 발행
+    // =========================
+
+    /**
+     * 선점한 알림 배치 발행 (outbox 디스패처의 선점 트랜잭션 안에서 호출, 실패 시 예외 → 롤백/재시도)
+     * - local: 허브 전송은 선점이 커밋된 뒤에 (롤백된 선점은 전송되지 않음)
+     * - postgres: NOTIFY 가 선점과 함께 커밋된다.
+     */
+    public void publish(List<NotificationDTO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (!postgres) {
+            TransactionHooks.afterCommit(() -> batch.forEach(this::deliverLocal));
+            return;
+        }
+        StringBuilder payload = new StringBuilder();
+        for (NotificationDTO n : batch) {
+            String item = n.getNotificationId() + ":" + n.getUserNo();
+            if (payload.length() > 0 && payload.length() + item.length() + 1 > MAX_PAYLOAD_BYTES) {
+                notificationMapper.notifyChannel(channel, payload.toString());
+                payload.setLength(0);
+            }
+            if (payload.length() > 0) {
+                payload.append(',');
+            }
+            payload.append(item);
+        }
+        notificationMapper.notifyChannel(channel, payload.toString());
+    }
+
+    private void deliverLocal(NotificationDTO n) {
+        n.setType(NotificationService.toClientType(n.getType()));
+        notificationHub.publishNotification(n.getUserNo(), n.getDispatchSeq(), n);
+    }
+
+    // =========================
+    // 수신 (mode=postgres)
+    // =========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!postgres || running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "notification-bus");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement st = connection.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                log.info("알림 버스 수신 시작 - channel={}", channel);
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications((int) pollTimeoutMs);
+                    if (notifications != null && notifications.length > 0) {
+                        try {
+                            deliver(notifications);
+                        } catch (Exception e) {
+                            // 조회/전송 오류는 이번 묶음만 건너뛰고 수신은 유지
+                            log.warn("알림 버스 전달 실패: {}", e.getMessage());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("알림 버스 연결 오류 ({}ms 후 재연결): {}", reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 대기 중이던 NOTIFY 전체를 합쳐 로컬 연결 사용자 알림만 조회/전송
+     */
+    private void deliver(PGNotification[] notifications) {
+        List<Long> localIds = new ArrayList<>();
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            if (payload == null || payload.isEmpty()) {
+                continue;
+            }
+            for (String item : payload.split(",")) {
+                int sep = item.indexOf(':');
+                if (sep < 0) {
+                    continue;
+                }
+                long userNo = Long.parseLong(item.substring(sep + 1));
+                if (notificationHub.isLocalUser(userNo)) {
+                    localIds.add(Long.parseLong(item.substring(0, sep)));
+                }
+            }
+        }
+        if (localIds.isEmpty()) {
+            return;
+        }
+        notificationMapper.selectNotificationsByIds(localIds).forEach(this::deliverLocal);
+    }
+}
@@ -0,0 +1,608 @@
+package com.safeguard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * 알림 SSE 팬아웃 허브
+ *
+ * - 사용자별 연결 목록은 copy-on-write 집합 (발행 시 락 없이 순회)
+ * - 연결마다 크기 제한 송신 큐를 두고, 전용 송신 스레드 풀이 큐를 비운다.
+ *   발행(publish)은 큐에 넣기만 하므로 호출 스레드(요청/트랜잭션)가 소켓 쓰기에 묶이지 않는다.
+ * - 송신 풀은 최대 send-threads 개 스레드 + send-backlog 크기 대기열로 제한한다.
+ *   TCP 버퍼가 찬 클라이언트가 스레드를 붙잡아도 다른 연결은 남은 스레드에서 계속 전송되고,
+ *   write-timeout 을 넘긴 쓰기는 watchdog 이 연결을 닫고 송신 스레드를 interrupt 해 회수한다.
+ *   풀과 대기열이 모두 차면 연결의 송신 정책대로 DISCONNECT 연결은 닫고, DROP_OLDEST 연결은
+ *   큐에 남겨(넘치면 오래된 이벤트부터 버림) watchdog 주기에 다시 송신을 시도한다.
+ * - 한 연결의 송신은 한 번에 한 스레드만 수행 (draining 플래그) - 이벤트 순서 보장
+ * - 큐가 가득 찬 느린 연결: DROP_OLDEST(가장 오래된 이벤트 버림) 또는 DISCONNECT(연결 종료) 정책
+ * - 알림 이벤트 id 는 전송 순번 dispatch_seq (커밋 순서로 증가, 노드와 무관하게 같은 값)
+ *   사용자별로 최근 알림을 링 버퍼에 보관하여, 재연결 시 Last-Event-ID 이후 놓친 알림을 메모리에서 다시 보낸다.
+ *   버퍼가 그 시점을 포함하지 못하면(재기동/만료/초과) DB 에서 조회해 보내고 버퍼를 채운다.
+ * - 주기 heartbeat 로 모든 연결에 ping(SSE 주석)을 배치 단위로 보내 끊긴 연결을 찾아내고,
+ *   송신이 stall-timeout 이상 막힌 연결은 정리한다. 사용자당 연결 수는 상한을 넘으면 가장 오래된 것부터 닫는다.
+ * - 알림 외 SSE 스트림(대시보드 등)도 openStream 으로 같은 송신 큐/스레드, 쓰기 watchdog, heartbeat 를 쓴다.
+ * - 메트릭: notification.sse.connections(노드 연결 수), notification.sse.users(연결 사용자 수),
+ *   notification.sse.connections.per.user.max(사용자당 최대 연결 수), notification.sse.reaped(정리된 연결)
+ */
+@Slf4j
+@Component
+public class NotificationHub {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, DISCONNECT
+    }
+
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final ExecutorService sendExecutor;
+    private final int replaySize;
+    private final int maxConnectionsPerUser;
+    private final int heartbeatBatchSize;
+    private final long stallTimeoutMs;
+    private final long writeTimeoutMs;
+    private final Counter reapedCounter;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    // 사용자와 무관한 스트림 연결 (openStream)
+    private final Set<Connection> streams = ConcurrentHashMap.newKeySet();
+    // 소켓 쓰기 진행 중인 연결 (watchdog 검사 대상)
+    private final Set<Connection> sending = ConcurrentHashMap.newKeySet();
+    // 송신 풀이 가득 차 송신을 시작하지 못한 연결 (watchdog 주기에 재시도)
+    private final Set<Connection> deferred = ConcurrentHashMap.newKeySet();
+    // 사용자별 재전송 버퍼 (마지막 접근 후 replay-ttl 동안 유지)
+    private final Cache<Long, ReplayBuffer> replayBuffers;
+
+    public NotificationHub(
+            @Value("${notification.sse.queue-capacity:64}") int queueCapacity,
+            @Value("${notification.sse.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+            @Value("${notification.sse.send-threads:16}") int sendThreads,
+            @Value("${notification.sse.send-backlog:256}") int sendBacklog,
+            @Value("${notification.sse.replay-size:50}") int replaySize,
+            @Value("${notification.sse.replay-ttl-minutes:30}") long replayTtlMinutes,
+            @Value("${notification.sse.replay-max-users:10000}") long replayMaxUsers,
+            @Value("${notification.sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${notification.sse.heartbeat-batch-size:500}") int heartbeatBatchSize,
+            @Value("${notification.sse.stall-timeout-ms:90000}") long stallTimeoutMs,
+            @Value("${notification.sse.write-timeout-ms:10000}") long writeTimeoutMs,
+            MeterRegistry meterRegistry) {
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.replaySize = replaySize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.heartbeatBatchSize = heartbeatBatchSize;
+        this.stallTimeoutMs = stallTimeoutMs;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.replayBuffers = Caffeine.newBuilder()
+                .maximumSize(replayMaxUsers)
+                .expireAfterAccess(Duration.ofMinutes(replayTtlMinutes))
+                .build();
+        AtomicInteger seq = new AtomicInteger();
+        // 대기열보다 스레드를 먼저 채우도록 core = max (유휴 스레드는 60초 후 회수)
+        // 막힌 쓰기가 스레드를 모두 붙잡으면 대기열에서 기다리다 write-timeout 정리 후 실행된다.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(sendBacklog), r -> {
+                    Thread t = new Thread(r, "sse-send-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.sendExecutor = executor;
+
+        Gauge.builder("notification.sse.connections", this, NotificationHub::connectionCount)
+                .description("이 노드의 알림 SSE 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.sse.users", connections, Map::size)
+                .description("이 노드에 알림 SSE 로 연결된 사용자 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.sse.connections.per.user.max", this, NotificationHub::maxConnectionsOfUser)
+                .description("사용자당 알림 SSE 연결 수 최댓값")
+                .register(meterRegistry);
+        this.reapedCounter = Counter.builder("notification.sse.reaped")
+                .description("heartbeat/상한으로 정리된 알림 SSE 연결 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * SSE 연결 1개 (송신 큐 + 송신 중 플래그 + 마지막 송신 성공 시각)
+     * - userNo 가 null 이면 스트림 연결 (onClosed 는 연결이 닫힐 때 1회 호출)
+     */
+    static final class Connection {
+        final Long userNo;
+        final SseEmitter emitter;
+        final OverflowPolicy overflowPolicy;
+        final Runnable onClosed;
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final long connectedAt = System.currentTimeMillis();
+        volatile long lastSentAt = connectedAt;
+        // 진행 중인 소켓 쓰기 (없으면 sender=null, 변경/interrupt 는 연결 객체 락 안에서)
+        volatile Thread sender;
+        volatile long sendStartedAt;
+        volatile boolean closed = false;
+
+        Connection(Long userNo, SseEmitter emitter, int capacity, OverflowPolicy overflowPolicy,
+                Runnable onClosed) {
+            this.userNo = userNo;
+            this.emitter = emitter;
+            this.overflowPolicy = overflowPolicy;
+            this.onClosed = onClosed;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        // 보낼 것이 있는데 stallTimeoutMs 이상 송신이 진행되지 않음
+        boolean stalled(long now, long stallTimeoutMs) {
+            return (draining.get() || !queue.isEmpty()) && now - lastSentAt > stallTimeoutMs;
+        }
+    }
+
+    /**
+     * 재전송용 알림 이벤트 (id = 전송 순번 dispatch_seq - 커밋 순서로 증가)
+     */
+    public record ReplayEvent(long id, Object data) {
+    }
+
+    /**
+     * 사용자별 최근 알림 링 버퍼 (버퍼 객체 락 안에서만 접근)
+     * - floor: 이 순번보다 큰 알림은 모두 보관 중 (null 이면 알 수 없음)
+     * - 순번은 전달 순서대로 증가하므로 마지막 순번 이하는 중복(DB 재전송으로 이미 채운 알림)으로 보고 버린다.
+     */
+    static final class ReplayBuffer {
+        final int capacity;
+        final Deque<ReplayEvent> events = new ArrayDeque<>();
+        Long floor;
+
+        ReplayBuffer(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * 보관 후 true, 이미 보관한 순번 이하면 false
+         */
+        boolean append(ReplayEvent event) {
+            if (!events.isEmpty() && event.id() <= events.peekLast().id()
+                    || floor != null && event.id() <= floor) {
+                return false;
+            }
+            if (floor == null) {
+                // 버퍼 생성 이후 첫 알림 - 그 이전 번호는 보관하지 않음
+                floor = event.id() - 1;
+            }
+            events.addLast(event);
+            while (events.size() > capacity) {
+                floor = events.removeFirst().id();
+            }
+            return true;
+        }
+
+        boolean covers(long lastEventId) {
+            return floor != null && lastEventId >= floor;
+        }
+
+        List<ReplayEvent> since(long lastEventId) {
+            List<ReplayEvent> missed = new ArrayList<>();
+            for (ReplayEvent e : events) {
+                if (e.id() > lastEventId) {
+                    missed.add(e);
+                }
+            }
+            return missed;
+        }
+
+        /**
+         * DB 에서 읽은 알림 + 조회 중 버퍼에 들어온 더 최신 알림으로 버퍼 교체 후 재전송 목록 반환
+         * - 같은 알림이 양쪽에 있으면 순번 기준으로 한 번만 (loaded 마지막 순번 이하는 버퍼에서 제외)
+         * - complete=false 면 loaded 이전 번호는 보관하지 않음
+         */
+        List<ReplayEvent> merge(long lastEventId, List<ReplayEvent> loaded, boolean complete) {
+            long after = loaded.isEmpty() ? lastEventId : Math.max(lastEventId, loaded.get(loaded.size() - 1).id());
+            List<ReplayEvent> merged = new ArrayList<>(loaded);
+            merged.addAll(since(after));
+            events.clear();
+            floor = complete || merged.isEmpty() ? lastEventId : merged.get(0).id() - 1;
+            for (ReplayEvent e : merged) {
+                append(e);
+            }
+            return merged;
+        }
+    }
+
+    // =========================
+    // 구독
+    // =========================
+
+    /**
+     * 연결 등록 후 connect 이벤트 + (lastEventId 가 있으면) 놓친 알림 전송
+     * - 버퍼가 lastEventId 이후를 모두 가지고 있으면 메모리에서, 아니면 loader(afterId, limit) 로 DB 조회
+     * - DB 조회는 버퍼 락 밖에서 한다. (조회 동안 발행 스레드가 이 사용자 버퍼에서 막히지 않도록)
+     *   조회 중 발행된 알림은 버퍼에 쌓이고, 락 안에서 조회 결과와 순번 기준으로 합친다.
+     * - 버퍼 락 안에서 등록/재전송하므로 그 사이 발행된 알림이 빠지거나 중복되지 않는다.
+     */
+    public void register(Long userNo, SseEmitter emitter, Long lastEventId,
+            BiFunction<Long, Integer, List<ReplayEvent>> loader) {
+        Connection connection = new Connection(userNo, emitter, queueCapacity, overflowPolicy, null);
+        ReplayBuffer buffer = replayBuffers.get(userNo, k -> new ReplayBuffer(replaySize));
+        List<ReplayEvent> loaded = null;
+        while (true) {
+            synchronized (buffer) {
+                if (lastEventId == null || loaded != null || buffer.covers(lastEventId)) {
+                    attach(connection, buffer, lastEventId, loaded);
+                    break;
+                }
+            }
+            // 버퍼 미스 - 락 밖에서 DB 조회 후 다시 락을 잡고 등록
+            loaded = loader.apply(lastEventId, replaySize);
+        }
+        enforceConnectionCap(userNo);
+    }
+
+    /**
+     * 연결 등록 + connect 이벤트 + 놓친 알림 전송 (버퍼 락 안에서 호출)
+     * - loaded 가 있으면 조회 중 발행된 알림과 합쳐 버퍼를 교체하고, 없으면 버퍼에서 보낸다.
+     */
+    private void attach(Connection connection, ReplayBuffer buffer, Long lastEventId, List<ReplayEvent> loaded) {
+        Long userNo = connection.userNo;
+        SseEmitter emitter = connection.emitter;
+
+        // 같은 사용자의 마지막 연결 해제(빈 집합 제거)와 겹쳐도 유실되지 않도록 compute 안에서 추가
+        connections.compute(userNo, (k, set) -> {
+            Set<Connection> target = set != null ? set : new CopyOnWriteArraySet<>();
+            target.add(connection);
+            return target;
+        });
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(e -> remove(connection));
+
+        // 연결 확인용 첫 이벤트
+        enqueue(connection, SseEmitter.event().name("connect").data("connected"));
+
+        if (lastEventId != null) {
+            List<ReplayEvent> missed;
+            if (loaded != null) {
+                missed = buffer.merge(lastEventId, loaded, loaded.size() < replaySize);
+            } else {
+                missed = buffer.since(lastEventId);
+            }
+            for (ReplayEvent e : missed) {
+                enqueue(connection, toSseEvent(e));
+            }
+        }
+    }
+
+    /**
+     * 사용자당 연결 상한 초과 시 오래된 연결부터 종료 (탭을 많이 연 사용자)
+     */
+    private void enforceConnectionCap(Long userNo) {
+        Set<Connection> set = connections.get(userNo);
+        if (set == null || set.size() <= maxConnectionsPerUser) {
+            return;
+        }
+        List<Connection> oldest = set.stream()
+                .sorted(Comparator.comparingLong(c -> c.connectedAt))
+                .limit(set.size() - maxConnectionsPerUser)
+                .toList();
+        for (Connection connection : oldest) {
+            log.debug("사용자당 SSE 연결 상한 초과 - 오래된 연결 종료 (userNo={})", userNo);
+            reap(connection);
+        }
+    }
+
+    /**
+     * 사용자와 무관한 SSE 스트림 등록 (대시보드 등) - 반환된 Stream 으로 이벤트를 큐에 넣는다.
+     * - 큐가 넘치면 이벤트를 버리지 않고 연결을 닫는다. (delta 스트림은 하나라도 빠지면 상태가 어긋나므로
+     *   클라이언트 재연결로 스냅샷부터 다시 받게 함)
+     * - onClosed: 연결이 어떤 이유로든(완료/오류/타임아웃/정리) 닫히면 1회 호출
+     */
+    public Stream openStream(SseEmitter emitter, Consumer<Stream> onClosed) {
+        Stream[] holder = new Stream[1];
+        Connection connection = new Connection(null, emitter, queueCapacity, OverflowPolicy.DISCONNECT,
+                () -> onClosed.accept(holder[0]));
+        holder[0] = new Stream(connection);
+        streams.add(connection);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(e -> remove(connection));
+        return holder[0];
+    }
+
+    /**
+     * openStream 으로 등록한 연결의 송신 핸들
+     */
+    public final class Stream {
+        private final Connection connection;
+
+        private Stream(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * 송신 큐에 넣고 즉시 반환 (닫힌 연결이면 무시)
+         */
+        public void send(SseEmitter.SseEventBuilder event) {
+            enqueue(connection, event);
+        }
+
+        public boolean isOpen() {
+            return !connection.closed;
+        }
+    }
+
+    // =========================
+    // 발행
+    // =========================
+
+    /**
+     * 알림 발행 - 재전송 버퍼에 기록 후 사용자의 모든 연결 큐에 넣고 즉시 반환
+     * (연결도 버퍼도 없는 사용자는 무시 - 재연결 시 DB 에서 조회, 이미 보관한 순번 이하도 무시)
+     */
+    public void publishNotification(Long userNo, long dispatchSeq, Object data) {
+        ReplayBuffer buffer = connections.containsKey(userNo)
+                ? replayBuffers.get(userNo, k -> new ReplayBuffer(replaySize))
+                : replayBuffers.getIfPresent(userNo);
+        if (buffer == null) {
+            return;
+        }
+        ReplayEvent event = new ReplayEvent(dispatchSeq, data);
+        synchronized (buffer) {
+            if (!buffer.append(event)) {
+                return;
+            }
+            Set<Connection> targets = connections.get(userNo);
+            if (targets == null) {
+                return;
+            }
+            for (Connection connection : targets) {
+                enqueue(connection, toSseEvent(event));
+            }
+        }
+    }
+
+    /**
+     * 이 노드가 알림을 받아야 하는 사용자인지 - 연결 중이거나 재전송 버퍼가 살아 있음
+     * (클러스터 버스에서 로컬 대상만 고를 때 사용)
+     */
+    public boolean isLocalUser(Long userNo) {
+        return connections.containsKey(userNo) || replayBuffers.getIfPresent(userNo) != null;
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(ReplayEvent event) {
+        return SseEmitter.event().id(String.valueOf(event.id())).name("notification").data(event.data());
+    }
+
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.closed) {
+            return;
+        }
+        while (!connection.queue.offer(event)) {
+            if (connection.overflowPolicy == OverflowPolicy.DISCONNECT) {
+                log.debug("SSE 송신 큐 초과 - 연결 종료 (userNo={})", connection.userNo);
+                close(connection);
+                return;
+            }
+            connection.queue.poll(); // DROP_OLDEST
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                sendExecutor.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.draining.set(false);
+                if (connection.overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    log.debug("SSE 송신 풀 포화 - 연결 종료 (userNo={})", connection.userNo);
+                    close(connection);
+                } else {
+                    deferred.add(connection);
+                }
+            }
+        }
+    }
+
+    /**
+     * 송신 스레드: 큐가 빌 때까지 전송, 실패 시 연결 해제
+     */
+    private void drain(Connection connection) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!connection.closed && (event = connection.queue.poll()) != null) {
+                connection.sendStartedAt = System.currentTimeMillis();
+                connection.sender = Thread.currentThread();
+                sending.add(connection);
+                try {
+                    connection.emitter.send(event);
+                    connection.lastSentAt = System.currentTimeMillis();
+                } catch (IOException | IllegalStateException e) {
+                    remove(connection);
+                    return;
+                } finally {
+                    sending.remove(connection);
+                    synchronized (connection) {
+                        connection.sender = null;
+                    }
+                    // watchdog 의 interrupt 가 이 스레드의 다음 작업으로 새지 않도록
+                    Thread.interrupted();
+                }
+            }
+        } finally {
+            connection.draining.set(false);
+        }
+        // 플래그 해제 직전에 들어온 이벤트 처리
+        if (!connection.closed && !connection.queue.isEmpty()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    // =========================
+    // heartbeat / 정리
+    // =========================
+
+    /**
+     * 모든 연결에 ping 전송 (배치 단위) + 송신이 막힌 연결 정리
+     * - ping 송신 실패(끊긴 연결)는 송신 스레드에서 바로 정리된다.
+     * - 대기 중인 이벤트가 있는 연결은 ping 을 생략 (그 이벤트가 ping 역할)
+     */
+    @Scheduled(fixedDelayString = "${notification.sse.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        List<Connection> batch = new ArrayList<>(heartbeatBatchSize);
+        for (Set<Connection> set : connections.values()) {
+            for (Connection connection : set) {
+                batch.add(connection);
+                if (batch.size() >= heartbeatBatchSize) {
+                    ping(batch, now);
+                    batch.clear();
+                }
+            }
+        }
+        for (Connection connection : streams) {
+            batch.add(connection);
+            if (batch.size() >= heartbeatBatchSize) {
+                ping(batch, now);
+                batch.clear();
+            }
+        }
+        ping(batch, now);
+    }
+
+    private void ping(List<Connection> batch, long now) {
+        for (Connection connection : batch) {
+            if (connection.closed) {
+                continue;
+            }
+            if (connection.stalled(now, stallTimeoutMs)) {
+                log.debug("SSE 송신 정체 - 연결 정리 (userNo={})", connection.userNo);
+                reap(connection);
+            } else if (connection.queue.isEmpty()) {
+                enqueue(connection, SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+
+    /**
+     * 쓰기 watchdog - write-timeout 을 넘겨 소켓 쓰기에 묶인 연결을 닫고 송신 스레드를 깨운다.
+     * (emitter 종료는 쓰기 락을 기다리지 않으므로 이 스레드는 막히지 않는다)
+     * 이어서 송신 풀 포화로 미뤄 둔 연결의 송신을 다시 시도한다.
+     */
+    @Scheduled(fixedDelayString = "${notification.sse.write-check-interval-ms:1000}")
+    public void checkWriteTimeouts() {
+        long now = System.currentTimeMillis();
+        for (Connection connection : sending) {
+            Thread sender = connection.sender;
+            if (sender == null || now - connection.sendStartedAt <= writeTimeoutMs) {
+                continue;
+            }
+            log.debug("SSE 쓰기 시간 초과 - 연결 정리 (userNo={})", connection.userNo);
+            reap(connection);
+            sending.remove(connection);
+            synchronized (connection) {
+                if (connection.sender == sender) {
+                    sender.interrupt();
+                }
+            }
+        }
+        // 풀이 가득 차 미뤄 둔 송신 재시도 (여전히 가득 차면 다시 미뤄짐)
+        for (Connection connection : deferred) {
+            deferred.remove(connection);
+            if (!connection.closed && !connection.queue.isEmpty()) {
+                scheduleDrain(connection);
+            }
+        }
+    }
+
+    private void reap(Connection connection) {
+        if (!connection.closed) {
+            reapedCounter.increment();
+        }
+        close(connection);
+    }
+
+    int connectionCount() {
+        int count = 0;
+        for (Set<Connection> set : connections.values()) {
+            count += set.size();
+        }
+        return count;
+    }
+
+    int maxConnectionsOfUser() {
+        int max = 0;
+        for (Set<Connection> set : connections.values()) {
+            max = Math.max(max, set.size());
+        }
+        return max;
+    }
+
+    // =========================
+    // 해제
+    // =========================
+
+    private void close(Connection connection) {
+        remove(connection);
+        try {
+            connection.emitter.complete();
+        } catch (Exception ignored) {
+            // 이미 종료된 연결
+        }
+    }
+
+    private void remove(Connection connection) {
+        boolean wasOpen;
+        synchronized (connection) {
+            wasOpen = !connection.closed;
+            connection.closed = true;
+        }
+        connection.queue.clear();
+        deferred.remove(connection);
+        if (connection.userNo == null) {
+            streams.remove(connection);
+        } else {
+            connections.computeIfPresent(connection.userNo, (k, set) -> {
+                set.remove(connection);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        if (wasOpen && connection.onClosed != null) {
+            connection.onClosed.run();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+}
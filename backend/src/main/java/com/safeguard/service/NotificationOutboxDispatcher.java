@@ -0,0 +1,137 @@
+package com.safeguard.service;
+
+import com.safeguard.dto.NotificationDTO;
+import com.safeguard.mapper.NotificationMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 알림 outbox 디스패처
+ *
+ * - notification 행은 민원 변경과 같은 트랜잭션에서 기록되고(dispatched_at IS NULL),
+ *   커밋 이후 wake() 로 깨어난 디스패처가 배치 단위로 선점해 알림 버스(NotificationBus)로 보낸다.
+ *   → 롤백된 알림은 전송되지 않고, 요청 트랜잭션은 SSE 전송을 기다리지 않는다.
+ * - 선점은 UPDATE ... SKIP LOCKED 한 문장이라 여러 인스턴스가 동시에 돌아도 중복 전송이 없다.
+ * - 선점과 발행(NOTIFY)은 한 트랜잭션 - 발행 전에 프로세스가 죽거나 발행이 실패하면 선점이 롤백되어
+ *   행은 미전송으로 남고 다음 실행에서 다시 보낸다. (선점만 커밋되고 유실되는 구간이 없음)
+ * - 발행 실패 횟수는 롤백 후 따로 기록하고 max-attempts 에 도달하면 포기
+ * - 선점 트랜잭션은 advisory lock 으로 직렬화하고 선점 시 전송 순번(dispatch_seq)을 부여한다.
+ *   → 순번 순서 = 커밋(NOTIFY 전달) 순서라 SSE 이벤트 id 로 쓰면 재연결 재전송에서 빠지는 알림이 없다.
+ *   (notification_id 는 INSERT 순서라 늦게 커밋된 알림이 더 작은 번호를 가질 수 있음)
+ * - 한 번 실행에 최대 max-batches 배치만 처리하고 나머지는 다음 주기로 넘긴다. (backpressure)
+ * - 커밋 후 wake 가 누락되어도(재기동 등) 주기 poll 로 보정
+ */
+@Slf4j
+@Component
+public class NotificationOutboxDispatcher {
+
+    // pg_advisory_xact_lock 키 (알림 outbox 선점 전용)
+    private static final long DISPATCH_LOCK_KEY = 0x5AFE_0001L;
+
+    private final NotificationMapper notificationMapper;
+    private final NotificationBus notificationBus;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "notification-outbox");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public NotificationOutboxDispatcher(NotificationMapper notificationMapper, NotificationBus notificationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${notification.outbox.batch-size:200}") int batchSize,
+            @Value("${notification.outbox.max-batches:10}") int maxBatches,
+            @Value("${notification.outbox.max-attempts:5}") int maxAttempts) {
+        this.notificationMapper = notificationMapper;
+        this.notificationBus = notificationBus;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.maxAttempts = maxAttempts;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 디스패치 예약 (이미 예약되어 있으면 무시 - 실행 중 들어온 요청은 다음 실행으로 합쳐짐)
+     */
+    public void wake() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wake();
+    }
+
+    private void run() {
+        scheduled.set(false);
+        try {
+            dispatch();
+        } catch (Exception e) {
+            // 선점 전 DB 오류 등: 다음 poll 에서 재시도
+            log.warn("알림 outbox 디스패치 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 미전송 알림 배치 전송 - 전송 건수 반환
+     */
+    public int dispatch() {
+        int sent = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<Long> claimed = new ArrayList<>();
+            int size;
+            try {
+                size = transactionTemplate.execute(status -> {
+                    notificationMapper.lockDispatch(DISPATCH_LOCK_KEY);
+                    List<NotificationDTO> batch = new ArrayList<>(notificationMapper.claimUndispatched(batchSize));
+                    batch.sort(Comparator.comparing(NotificationDTO::getDispatchSeq));
+                    batch.forEach(n -> claimed.add(n.getNotificationId()));
+                    notificationBus.publish(batch);
+                    return batch.size();
+                });
+            } catch (RuntimeException e) {
+                if (claimed.isEmpty()) {
+                    throw e;
+                }
+                // 선점은 롤백됨 - 실패 횟수만 기록 (max-attempts 도달 시 포기), 남은 배치는 다음 실행으로
+                int recorded = notificationMapper.recordFailedAttempt(claimed, maxAttempts);
+                log.warn("알림 발행 실패 - {}건 재시도 대기(기록 {}건): {}", claimed.size(), recorded, e.getMessage());
+                break;
+            }
+            sent += size;
+            if (size < batchSize) {
+                break;
+            }
+        }
+        return sent;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
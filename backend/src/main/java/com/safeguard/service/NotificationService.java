@@ -1,18 +1,19 @@
 package com.safeguard.service;
 
+import com.safeguard.common.TransactionHooks;
 import com.safeguard.dto.NotificationDTO;
 import com.safeguard.mapper.NotificationMapper;
+import com.safeguard.security.CustomUserDetails;
 import com.safeguard.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -21,95 +22,65 @@ public class NotificationService {
 
     private final NotificationMapper notificationMapper;
     private final JwtTokenProvider jwtTokenProvider;
-    private final com.safeguard.mapper.UserMapper userMapper;
+    private final NotificationHub notificationHub;
+    private final NotificationOutboxDispatcher outboxDispatcher;
 
-    // Use ConcurrentHashMap to manage emitters for each user
-    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
-
-    // Subscribe to SSE
-    public SseEmitter subscribe(String token) {
-        if (!jwtTokenProvider.validateToken(token)) {
-            throw new IllegalArgumentException("Invalid Token");
-        }
-
-        String userIdStr = jwtTokenProvider.getUsername(token); // This returns 'sub' claim which is username (String)
-
-        Long userNo;
+    // Subscribe to SSE (lastEventId: 재연결 시 마지막으로 받은 알림 전송 순번 - Last-Event-ID)
+    public SseEmitter subscribe(String token, Long lastEventId) {
+        // 필터와 같은 경로로 한 번만 검증 (서명/만료 + 토큰 버전: 폐기된 토큰/삭제된 계정 거부)
+        Authentication auth;
         try {
-            userNo = Long.parseLong(userIdStr);
-        } catch (NumberFormatException e) {
-            // Fallback: If subject is not numeric, look up by userId (username)
-            userNo = userMapper.findByUserId(userIdStr)
-                    .map(com.safeguard.dto.UserDTO::getUserNo)
-                    .orElseThrow(() -> {
-                        log.error("User not found for token subject: {}", userIdStr);
-                        return new IllegalArgumentException("User not found");
-                    });
+            auth = jwtTokenProvider.authenticate(token);
+        } catch (AuthenticationException e) {
+            auth = null;
         }
-
-        SseEmitter emitter = new SseEmitter(60 * 60 * 1000L); // 1 hour timeout
-
-        final Long finalUserNo = userNo;
-        final SseEmitter finalEmitter = emitter;
-
-        List<SseEmitter> userEmitters = emitters.computeIfAbsent(finalUserNo, k -> new ArrayList<>());
-        synchronized (userEmitters) {
-            userEmitters.add(finalEmitter);
+        if (auth == null || !(auth.getPrincipal() instanceof CustomUserDetails details)
+                || details.getUserNo() == null) {
+            throw new IllegalArgumentException("Invalid Token");
         }
+        Long userNo = details.getUserNo();
 
-        finalEmitter.onCompletion(() -> removeEmitter(finalUserNo, finalEmitter));
-        finalEmitter.onTimeout(() -> {
-            finalEmitter.complete();
-            removeEmitter(finalUserNo, finalEmitter);
-        });
-        finalEmitter.onError((e) -> removeEmitter(finalUserNo, finalEmitter));
+        SseEmitter emitter = new SseEmitter(60 * 60 * 1000L); // 1 hour timeout
 
-        // Send initial dummy event to establish connection
-        try {
-            finalEmitter.send(SseEmitter.event().name("connect").data("connected"));
-        } catch (IOException e) {
-            removeEmitter(finalUserNo, finalEmitter);
-        }
+        // 연결 관리/전송은 허브가 담당 (connect 이벤트 + 놓친 알림 재전송, 버퍼에 없으면 DB)
+        notificationHub.register(userNo, emitter, lastEventId,
+                (afterSeq, limit) -> loadReplay(userNo, afterSeq, limit));
 
-        return finalEmitter;
+        return emitter;
     }
 
-    private void removeEmitter(Long userNo, SseEmitter emitter) {
-        List<SseEmitter> userEmitters = emitters.get(userNo);
-        if (userEmitters != null) {
-            synchronized (userEmitters) {
-                userEmitters.remove(emitter);
-                if (userEmitters.isEmpty()) {
-                    emitters.remove(userNo);
-                }
-            }
-        }
+    // 재전송 버퍼 미스 시 DB 조회 (오래된 순)
+    private List<NotificationHub.ReplayEvent> loadReplay(Long userNo, long afterSeq, int limit) {
+        List<NotificationDTO> rows = new java.util.ArrayList<>(
+                notificationMapper.selectNotificationsAfter(userNo, afterSeq, limit));
+        java.util.Collections.reverse(rows);
+        return rows.stream()
+                .map(n -> {
+                    n.setType(toClientType(n.getType()));
+                    return new NotificationHub.ReplayEvent(n.getDispatchSeq(), n);
+                })
+                .toList();
     }
 
     // Create & Publish Notification
     public void createNotification(Long userNo, Long complaintNo, String type, String message) {
-        String dtoType = mapToDtoType(type);
-
         NotificationDTO dto = NotificationDTO.builder()
                 .userNo(userNo)
                 .complaintNo(complaintNo)
-                .type(dtoType) // Mapped type for Frontend
+                .type(type) // Raw type for DB insert
                 .message(message) // Raw code message "STATUS_CHANGED: UNPROCESSED"
                 .isRead(false)
                 .build();
 
-        // 1. DB Insert
-        dto.setType(type); // Set raw type for DB insert
+        // 1. DB Insert (outbox - 호출 측 트랜잭션에 포함, dispatched_at IS NULL)
         notificationMapper.insertNotification(dto);
 
-        // 2. Prepare for SSE (transform type)
-        dto.setType(dtoType);
-
-        // 3. Publish
-        sendToUser(userNo, dto);
+        // 2. Publish - 커밋 이후 디스패처가 outbox 에서 읽어 SSE 전송 (롤백 시 행이 없으므로 전송 안 됨)
+        TransactionHooks.afterCommit(outboxDispatcher::wake);
     }
 
-    private String mapToDtoType(String rawType) {
+    // DB 알림 유형 → 프론트 유형 (STATUS / ANSWER / MANAGER)
+    static String toClientType(String rawType) {
         if ("STATUS_CHANGED".equals(rawType))
             return "STATUS";
         if ("ANSWER_CREATED".equals(rawType) || "ANSWER_UPDATED".equals(rawType))
@@ -119,29 +90,12 @@ public class NotificationService {
         return "ANSWER"; // Fallback as requested
     }
 
-    private void sendToUser(Long userNo, NotificationDTO dto) {
-        List<SseEmitter> userEmitters = emitters.get(userNo);
-        if (userEmitters != null) {
-            synchronized (userEmitters) {
-                List<SseEmitter> deadEmitters = new ArrayList<>();
-                for (SseEmitter emitter : userEmitters) {
-                    try {
-                        emitter.send(SseEmitter.event().name("notification").data(dto));
-                    } catch (IOException e) {
-                        deadEmitters.add(emitter);
-                    }
-                }
-                userEmitters.removeAll(deadEmitters);
-            }
-        }
-    }
-
     public Map<String, Object> getNotifications(Long userNo) {
         List<NotificationDTO> list = notificationMapper.selectNotificationsByUser(userNo);
 
         // Transform types for Frontend logic
         for (NotificationDTO n : list) {
-            n.setType(mapToDtoType(n.getType()));
+            n.setType(toClientType(n.getType()));
         }
 
         int unread = notificationMapper.countUnread(userNo);
@@ -0,0 +1,249 @@
+package com.safeguard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safeguard.event.ComplaintBulkChangeEvent;
+import com.safeguard.mapper.DistrictMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 역지오코딩 (좌표 → 정규화 주소 + 시군구 코드)
+ *
+ * - 번들 경계 데이터(DistrictBoundaryIndex)로 판정하므로 외부 API 호출이 없고 결과가 항상 같다.
+ * - 좌표를 precision 자리로 반올림한 격자점으로 판정하고, 그 결과를 LRU 캐시에 보관한다.
+ *   (같은 격자점은 항상 같은 결과 - 캐시 적재 순서와 무관)
+ * - 정규화 주소는 시군구 단위('서울특별시 강남구')이며, 상세 주소는 클라이언트 입력을 그대로 쓴다.
+ * - 시드/백필처럼 대량으로 판정할 때는 reverseAll 로 중복 좌표를 한 번만 계산한다.
+ * - 캐시 적중률은 cache.* 메트릭(name=reverseGeocode)으로 노출
+ * - 기존 민원 시군구 코드 백필은 기동/일괄 변경 후 별도 스레드에서 실행하고,
+ *   코드가 지정된 민원이 있으면 ComplaintBulkChangeEvent(district-backfill)로 집계/인덱스를 다시 적재시킨다.
+ */
+@Slf4j
+@Component
+public class ReverseGeocoder {
+
+    // 백필 완료 후 발행하는 일괄 변경 사유 (자기 자신은 이 이벤트로 다시 백필하지 않음)
+    static final String BACKFILL_REASON = "district-backfill";
+
+    private final DistrictBoundaryIndex districtBoundaryIndex;
+    private final DistrictMapper districtMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double scale;
+    private final int backfillBatchSize;
+    private final Cache<Long, Address> cache;
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "district-backfill");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean backfillScheduled = new AtomicBoolean();
+
+    public ReverseGeocoder(DistrictBoundaryIndex districtBoundaryIndex, DistrictMapper districtMapper,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+            @Value("${district.geocoder.precision:5}") int precision,
+            @Value("${district.geocoder.cache-size:100000}") long cacheSize,
+            @Value("${district.backfill-batch-size:1000}") int backfillBatchSize) {
+        this.districtBoundaryIndex = districtBoundaryIndex;
+        this.districtMapper = districtMapper;
+        this.eventPublisher = eventPublisher;
+        this.scale = Math.pow(10, precision);
+        this.backfillBatchSize = backfillBatchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "reverseGeocode");
+    }
+
+    /**
+     * 역지오코딩 결과 (경계 밖/좌표 없음은 NONE)
+     */
+    public record Address(Integer districtCode, String sidoName, String districtName) {
+
+        public static final Address NONE = new Address(null, null, null);
+
+        public boolean isFound() {
+            return districtCode != null;
+        }
+
+        /**
+         * 정규화 주소 (시도 + 시군구)
+         */
+        public String normalized() {
+            if (!isFound()) {
+                return null;
+            }
+            return (sidoName + " " + districtName).trim();
+        }
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    public Address reverse(Double lng, Double lat) {
+        if (lng == null || lat == null) {
+            return Address.NONE;
+        }
+        return cache.get(key(lng, lat), this::lookup);
+    }
+
+    /**
+     * 일괄 역지오코딩 (입력 순서대로 결과 반환, 좌표는 {lng, lat})
+     */
+    public List<Address> reverseAll(List<double[]> points) {
+        Set<Long> keys = new LinkedHashSet<>();
+        for (double[] p : points) {
+            keys.add(key(p[0], p[1]));
+        }
+        Map<Long, Address> resolved = cache.getAll(keys, missing -> {
+            Map<Long, Address> loaded = new LinkedHashMap<>();
+            for (Long k : missing) {
+                loaded.put(k, lookup(k));
+            }
+            return loaded;
+        });
+        List<Address> result = new ArrayList<>(points.size());
+        for (double[] p : points) {
+            result.add(resolved.get(key(p[0], p[1])));
+        }
+        return result;
+    }
+
+    /**
+     * 시군구 코드만 필요할 때 (경계 밖이면 null)
+     */
+    public Integer districtCode(Double lng, Double lat) {
+        return reverse(lng, lat).districtCode();
+    }
+
+    // 반올림 격자점 → (경도, 위도) 각 32비트
+    private long key(double lng, double lat) {
+        long x = Math.round(lng * scale);
+        long y = Math.round(lat * scale);
+        return (x << 32) | (y & 0xffffffffL);
+    }
+
+    private Address lookup(long key) {
+        double lng = (key >> 32) / scale;
+        double lat = ((int) key) / scale;
+        DistrictBoundaryIndex.District d = districtBoundaryIndex.get(districtBoundaryIndex.locate(lng, lat));
+        return d != null ? new Address(d.code(), d.sidoName(), d.name()) : Address.NONE;
+    }
+
+    // =========================
+    // 백필
+    // =========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        requestBackfill();
+    }
+
+    // 시드 등 일괄 등록 후 코드 백필 (요청 스레드/트랜잭션을 잡지 않도록 비동기)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ComplaintBulkChangeEvent event) {
+        if (!BACKFILL_REASON.equals(event.reason())) {
+            requestBackfill();
+        }
+    }
+
+    /**
+     * 백필 예약 (이미 예약되어 있으면 무시 - 실행 중 들어온 요청은 다음 실행으로 합쳐짐)
+     */
+    public void requestBackfill() {
+        if (backfillScheduled.compareAndSet(false, true)) {
+            try {
+                backfillExecutor.execute(this::runBackfill);
+            } catch (RejectedExecutionException e) {
+                backfillScheduled.set(false);
+            }
+        }
+    }
+
+    private void runBackfill() {
+        backfillScheduled.set(false);
+        try {
+            if (backfill() > 0) {
+                // 집계/인덱스가 새 코드로 다시 적재되도록
+                eventPublisher.publishEvent(new ComplaintBulkChangeEvent(BACKFILL_REASON));
+            }
+        } catch (Exception e) {
+            // 컬럼 미생성 등: 등록 시점 코드 지정만 동작 (집계는 주소 규칙으로 대체)
+            log.warn("시군구 코드 백필 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 미판정 민원에 좌표 기준 코드 지정 (keyset 배치, 배치마다 reverseAll) - 코드가 지정된 건수 반환
+     * - 경계 밖 민원도 판정 시각을 기록해 다음 백필에서 다시 읽지 않는다.
+     */
+    public int backfill() {
+        if (districtBoundaryIndex.districts().isEmpty()) {
+            return 0;
+        }
+        long started = System.currentTimeMillis();
+        long afterNo = 0;
+        int assigned = 0;
+        int checked = 0;
+        while (true) {
+            List<Map<String, Object>> rows = districtMapper.selectComplaintsWithoutDistrict(afterNo,
+                    backfillBatchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<double[]> points = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                points.add(new double[] { ((Number) row.get("lng")).doubleValue(),
+                        ((Number) row.get("lat")).doubleValue() });
+            }
+            List<Address> addresses = reverseAll(points);
+            List<Map<String, Object>> updates = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Map<String, Object> update = new LinkedHashMap<>();
+                update.put("complaintNo", rows.get(i).get("complaint_no"));
+                update.put("districtCode", addresses.get(i).districtCode());
+                updates.add(update);
+                if (addresses.get(i).isFound()) {
+                    assigned++;
+                }
+            }
+            checked += districtMapper.updateComplaintDistricts(updates);
+            afterNo = ((Number) rows.get(rows.size() - 1).get("complaint_no")).longValue();
+            if (rows.size() < backfillBatchSize) {
+                break;
+            }
+        }
+        if (checked > 0) {
+            log.info("시군구 코드 백필 완료 - 판정 {}건, 코드 지정 {}건, {}ms",
+                    checked, assigned, System.currentTimeMillis() - started);
+        }
+        return assigned;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+}
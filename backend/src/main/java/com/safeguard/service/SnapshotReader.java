@@ -0,0 +1,42 @@
+package com.safeguard.service;
+
+import com.safeguard.common.TxSnapshot;
+import com.safeguard.mapper.ComplaintMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * 스냅샷을 함께 돌려주는 재구성용 조회
+ *
+ * REPEATABLE READ 읽기 전용 트랜잭션에서 스냅샷을 먼저 읽고 같은 트랜잭션에서 쿼리를 실행하므로,
+ * 쿼리 결과는 정확히 그 스냅샷 기준이다. 재구성 중 쌓인 이벤트 중 스냅샷에 보이지 않는 것(이후 커밋)만
+ * 재적용하면 중복/누락 없이 맞출 수 있다. (DashboardStatsEngine, HexHotspotIndex)
+ */
+@Component
+public class SnapshotReader {
+
+    private final ComplaintMapper complaintMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public SnapshotReader(ComplaintMapper complaintMapper, PlatformTransactionManager transactionManager) {
+        this.complaintMapper = complaintMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public record Result<T>(TxSnapshot snapshot, T value) {
+    }
+
+    public <T> Result<T> read(Supplier<T> query) {
+        return transactionTemplate.execute(status -> {
+            // 첫 문장에서 트랜잭션 스냅샷이 정해진다
+            TxSnapshot snapshot = TxSnapshot.parse(complaintMapper.selectTxSnapshot());
+            return new Result<>(snapshot, query.get());
+        });
+    }
+}
@@ -7,6 +7,8 @@ import com.safeguard.dto.SignupRequest;
 import com.safeguard.dto.UserDTO;
 import com.safeguard.mapper.UserMapper;
 import com.safeguard.security.JwtTokenProvider;
+import com.safeguard.security.PrincipalResolver;
+import com.safeguard.security.TokenRevocationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,6 +32,8 @@ public class AuthServiceImpl implements AuthService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalResolver principalResolver;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     /**
      * 새로운 사용자를 등록합니다.
@@ -86,7 +90,8 @@ public class AuthServiceImpl implements AuthService {
             throw new RuntimeException("비밀번호가 일치하지 않습니다.");
         }
 
-        String token = jwtTokenProvider.createToken(user.getUserId(), user.getRole().name());
+        String token = jwtTokenProvider.createToken(user.getUserId(), user.getRole().name(),
+                user.getUserNo(), user.getAgencyNo(), user.getTokenVersion());
 
         java.util.Map<String, Object> userInfo = new java.util.HashMap<>();
         userInfo.put("userId", user.getUserId());
@@ -158,6 +163,8 @@ public class AuthServiceImpl implements AuthService {
         validatePassword(newPassword);
 
         userMapper.updateUserPassword(userId, passwordEncoder.encode(newPassword));
+        principalResolver.evict(userId);
+        tokenRevocationRegistry.revoke(userId);
     }
 
     /**
@@ -1,38 +1,138 @@
 package com.safeguard.service.impl;
 
+import com.safeguard.common.ComplaintCursor;
 import com.safeguard.dto.*;
 import com.safeguard.mapper.ComplaintGisMapper;
 import com.safeguard.service.ComplaintGisService;
-import lombok.RequiredArgsConstructor;
+import com.safeguard.service.ComplaintSpatialIndex;
+import com.safeguard.service.HexHotspotIndex;
+import com.safeguard.service.MapClusterIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class ComplaintGisServiceImpl implements ComplaintGisService {
 
+    private static final String SAMPLING_GRID = "grid";
+    private static final int MAX_LIST_SIZE = 100;
+    // estimate 모드에서 SQL 로 세는 최대 행 수 (이 이상이면 "N+"로 취급)
+    private static final int ESTIMATE_COUNT_CAP = 10000;
+    private static final String LIST_SORT = "created_date";
+    private static final String LIST_ORDER = "DESC";
+
     private final ComplaintGisMapper gisMapper;
+    private final MapClusterIndex mapClusterIndex;
+    private final ComplaintSpatialIndex spatialIndex;
+    private final HexHotspotIndex hexHotspotIndex;
+    private final int defaultMarkerLimit;
+    private final int maxMarkerLimit;
+    private final String defaultSampling;
+
+    public ComplaintGisServiceImpl(ComplaintGisMapper gisMapper, MapClusterIndex mapClusterIndex,
+            ComplaintSpatialIndex spatialIndex, HexHotspotIndex hexHotspotIndex,
+            @Value("${map.markers.default-limit:1000}") int defaultMarkerLimit,
+            @Value("${map.markers.max-limit:5000}") int maxMarkerLimit,
+            @Value("${map.markers.sampling:grid}") String defaultSampling) {
+        this.gisMapper = gisMapper;
+        this.mapClusterIndex = mapClusterIndex;
+        this.spatialIndex = spatialIndex;
+        this.hexHotspotIndex = hexHotspotIndex;
+        this.defaultMarkerLimit = defaultMarkerLimit;
+        this.maxMarkerLimit = maxMarkerLimit;
+        this.defaultSampling = defaultSampling;
+    }
 
     @Override
     @Transactional(readOnly = true)
     public List<MapItemDto> getMapItems(MapSearchRequest req) {
-        // limit logic if needed
-        return gisMapper.selectMapMarkers(req, 1000, 0);
+        int limit = mapItemLimit(req);
+
+        // cluster=true: 줌/뷰포트 밀집도에 따라 마커/클러스터 자동 분기 (사전 구성된 계층 인덱스 사용)
+        if (Boolean.TRUE.equals(req.getCluster())) {
+            return mapClusterIndex.getItems(req, limit);
+        }
+        // 격자 샘플링: 밀집 뷰포트에서도 최신 N건 대신 전체 분포를 대표하는 limit 건 (bounds 필요)
+        Double cellDeg = ComplaintSpatialIndex.sampleCellSize(req, limit);
+        boolean sampled = cellDeg != null && SAMPLING_GRID.equals(samplingOf(req));
+        // 공간 인덱스 적재 완료 시 메모리에서 처리, 아니면 SQL
+        if (spatialIndex.isReady()) {
+            return sampled ? spatialIndex.sampledMarkers(req, limit) : spatialIndex.markers(req, limit, 0);
+        }
+        return sampled ? gisMapper.selectSampledMapMarkers(req, cellDeg, limit) : gisMapper.selectMapMarkers(req, limit, 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MapDeltaDto getMapItemsDelta(MapSearchRequest req) {
+        // 차분은 공간 인덱스의 변경 로그 기준 (클러스터 모드/미적재 시에는 전체 응답)
+        if (!Boolean.TRUE.equals(req.getCluster()) && spatialIndex.isReady()) {
+            MapDeltaDto delta = spatialIndex.delta(req, mapItemLimit(req));
+            if (delta.isFull() && SAMPLING_GRID.equals(samplingOf(req))) {
+                // 전체 응답은 일반 조회와 같은 마커 선택(샘플링)으로
+                delta.setAdded(getMapItems(req));
+            }
+            return delta;
+        }
+        long version = spatialIndex.version();
+        return new MapDeltaDto(version, true, getMapItems(req), List.of());
+    }
+
+    private int mapItemLimit(MapSearchRequest req) {
+        return (req.getLimit() != null && req.getLimit() > 0)
+                ? Math.min(req.getLimit(), maxMarkerLimit)
+                : defaultMarkerLimit;
+    }
+
+    private String samplingOf(MapSearchRequest req) {
+        return (req.getSampling() != null && !req.getSampling().isBlank()) ? req.getSampling() : defaultSampling;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MapHotspotDto> getHotspots(MapSearchRequest req) {
-        // zoom level에 따라 gridDeg 조정 가능
-        double gridDeg = 0.005; // default ~500m
-        if (req.getZoom() != null) {
-            if (req.getZoom() < 10) gridDeg = 0.02;
-            if (req.getZoom() < 8) gridDeg = 0.05;
+        List<HotspotCellDto> cells = hotspotCellsFromIndex(req);
+        if (cells != null) {
+            return cells.stream().map(HexHotspotIndex::toHotspot).toList();
         }
-        return gisMapper.selectHotspots(req, gridDeg);
+        return gisMapper.selectHotspots(req, HexHotspotIndex.RESOLUTIONS[HexHotspotIndex.resolutionFor(req.getZoom())]);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HotspotCellDto> getHotspotCells(MapSearchRequest req) {
+        List<HotspotCellDto> cells = hotspotCellsFromIndex(req);
+        if (cells != null) {
+            return cells;
+        }
+        // SQL 대체: 셀 번호("i_j")로 중심 좌표 계산
+        double size = HexHotspotIndex.RESOLUTIONS[HexHotspotIndex.resolutionFor(req.getZoom())];
+        return gisMapper.selectHotspots(req, size).stream()
+                .map(h -> {
+                    String[] ij = h.getCellId().split("_");
+                    return HexHotspotIndex.toCell(size, Long.parseLong(ij[0]), Long.parseLong(ij[1]), h.getCount());
+                })
+                .toList();
+    }
+
+    /**
+     * 사전 집계(기간 조건 없음) → 공간 인덱스 집계(기간 조건 있음) 순으로 시도, 둘 다 미적재면 null
+     */
+    private List<HotspotCellDto> hotspotCellsFromIndex(MapSearchRequest req) {
+        boolean hasPeriod = req.getFrom() != null || req.getTo() != null;
+        if (!hasPeriod && hexHotspotIndex.isReady()) {
+            return hexHotspotIndex.cells(req);
+        }
+        if (spatialIndex.isReady()) {
+            return HexHotspotIndex.aggregate(req.getZoom(),
+                    spatialIndex.query(req).map(e -> new double[] { e.lng(), e.lat() }));
+        }
+        return null;
     }
 
     @Override
@@ -40,15 +140,84 @@ public class ComplaintGisServiceImpl implements ComplaintGisService {
     public List<MapDistrictDto> getDistrictCounts(MapSearchRequest req) {
         // 지도 범위와 상관없이 전체 통계를 원할 수도 있지만, 일단 req 필터를 따름
         // 전국 단위 시각화이므로 bounds가 전체를 포함하면 전체가 나옴
+        if (spatialIndex.isReady()) {
+            return spatialIndex.districtCounts(req);
+        }
         return gisMapper.selectDistrictCounts(req);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<ComplaintListItemDto> listComplaints(MapSearchRequest req, int page, int size) {
-        int offset = (page - 1) * size;
-        List<ComplaintListItemDto> content = gisMapper.selectComplaintMapList(req, size, offset);
-        long total = gisMapper.countComplaintMapList(req);
-        return new PageResponse<>(content, page, size, total);
+    public PageResponse<ComplaintListItemDto> listComplaints(MapSearchRequest req, String cursor, int size,
+            String countMode) {
+        int limit = Math.max(1, Math.min(size, MAX_LIST_SIZE));
+
+        OffsetDateTime cursorCreatedDate = null;
+        Long cursorNo = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                ComplaintCursor decoded = ComplaintCursor.decode(cursor, LIST_SORT, LIST_ORDER);
+                cursorCreatedDate = decoded.getCreatedDateKey();
+                cursorNo = decoded.getComplaintNo();
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            if (cursorCreatedDate == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다.");
+            }
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        List<ComplaintListItemDto> rows = spatialIndex.isReady()
+                ? spatialIndex.list(req, cursorCreatedDate, cursorNo, limit + 1)
+                : gisMapper.selectComplaintMapList(req, cursorCreatedDate, cursorNo, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<ComplaintListItemDto> content = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ComplaintListItemDto last = content.get(content.size() - 1);
+            nextCursor = new ComplaintCursor(LIST_SORT, LIST_ORDER, last.getCreatedDate().toString(),
+                    last.getComplaintNo()).encode();
+        }
+
+        Long total = null;
+        boolean totalExact = false;
+        if (spatialIndex.isReady() && !"none".equals(countMode)) {
+            // 메모리 인덱스 건수는 정확하고 저렴
+            total = spatialIndex.count(req);
+            totalExact = true;
+        } else if ("exact".equals(countMode)) {
+            total = gisMapper.countComplaintMapList(req);
+            totalExact = true;
+        } else if ("estimate".equals(countMode)) {
+            Long estimated = estimateFromHotspots(req);
+            if (estimated != null) {
+                total = estimated;
+            } else {
+                // 상한+1 까지만 세어 상한 이하면 정확한 값
+                long bounded = gisMapper.countComplaintMapListBounded(req, ESTIMATE_COUNT_CAP + 1);
+                total = Math.min(bounded, ESTIMATE_COUNT_CAP);
+                totalExact = bounded <= ESTIMATE_COUNT_CAP;
+            }
+        }
+        return new PageResponse<>(content, limit, hasNext, nextCursor, total, totalExact);
+    }
+
+    /**
+     * 핫스팟 사전 집계로 목록 건수 추정 (뷰포트 안에 중심이 있는 셀 합, 사용 불가 시 null)
+     */
+    private Long estimateFromHotspots(MapSearchRequest req) {
+        boolean hasBounds = req.getSwLat() != null && req.getSwLng() != null
+                && req.getNeLat() != null && req.getNeLng() != null;
+        boolean hasPeriod = req.getFrom() != null || req.getTo() != null;
+        if (hasBounds && !hasPeriod && hexHotspotIndex.isReady()) {
+            return hexHotspotIndex.cells(req).stream()
+                    .filter(c -> c.getLat() >= req.getSwLat() && c.getLat() <= req.getNeLat()
+                            && c.getLng() >= req.getSwLng() && c.getLng() <= req.getNeLng())
+                    .mapToLong(HotspotCellDto::getCount)
+                    .sum();
+        }
+        return null;
     }
 }
@@ -33,6 +33,10 @@ public class ComplaintServiceImpl implements ComplaintService {
     private final FileService fileService;
     private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
     private final com.safeguard.mapper.AgencyMapper agencyMapper;
+    private final com.safeguard.service.ComplaintDetailCache complaintDetailCache;
+    private final com.safeguard.service.DashboardStatsEngine dashboardStatsEngine;
+    private final com.safeguard.service.ReverseGeocoder reverseGeocoder;
+    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
 
     /**
      * 민원 생성 처리 (위치 정보 및 AI 분석 기반 기관 할당 포함)
@@ -69,12 +73,20 @@ public class ComplaintServiceImpl implements ComplaintService {
         // 주소 및 위경도 정보 설정
         @SuppressWarnings("unchecked")
         Map<String, Object> location = (Map<String, Object>) data.get("location");
+        com.safeguard.service.ReverseGeocoder.Address geocoded = com.safeguard.service.ReverseGeocoder.Address.NONE;
         if (location != null) {
             String addr = (String) location.get("address");
             complaint.setAddress(addr);
             if (location.containsKey("lat") && location.containsKey("lng")) {
                 complaint.setLatitude(Double.parseDouble(location.get("lat").toString()));
                 complaint.setLongitude(Double.parseDouble(location.get("lng").toString()));
+                // 좌표 기준 시군구 (번들 경계 역지오코딩, 경계 밖이면 NONE)
+                geocoded = reverseGeocoder.reverse(complaint.getLongitude(), complaint.getLatitude());
+                complaint.setDistrictCode(geocoded.districtCode());
+                // 주소 미입력 시 정규화 주소(시도 + 시군구)로 대체
+                if ((addr == null || addr.isBlank()) && geocoded.isFound()) {
+                    complaint.setAddress(geocoded.normalized());
+                }
             }
         }
 
@@ -128,7 +140,7 @@ public class ComplaintServiceImpl implements ComplaintService {
                 SpatialFeature sf = new SpatialFeature();
                 sf.setComplaintNo(complaintNo);
                 sf.setFeatureType("POINT");
-                sf.setAddrText((String) location.get("address"));
+                sf.setAddrText(complaint.getAddress());
                 double lat = Double.parseDouble(location.get("lat").toString());
                 double lng = Double.parseDouble(location.get("lng").toString());
                 sf.setGeom(geometryFactory.createPoint(new Coordinate(lng, lat)));
@@ -139,28 +151,42 @@ public class ComplaintServiceImpl implements ComplaintService {
         }
 
         // 4. 다중 기관 매핑 처리 (ComplaintAgency)
+        java.util.List<Long> assignedAgencyNos = new java.util.ArrayList<>();
         // A. 직접적인 소관 부처 매핑 (AI 결과)
         if (aiAgencyNo != null) {
             complaintMapper.insertComplaintAgency(complaintNo, aiAgencyNo);
+            assignedAgencyNos.add(aiAgencyNo);
         }
 
-        // B. 관할 지자체 매핑 (주소의 시/군/구 기반)
-        if (complaint.getAddress() != null && !complaint.getAddress().isEmpty()) {
-            String[] addrParts = complaint.getAddress().split(" ");
-            if (addrParts.length > 0) {
-                String regionName = normalizeRegionName(addrParts[0]);
-                Agency regionAgency = agencyMapper.selectAgencyByName(regionName);
-
-                if (regionAgency != null) {
-                    Long regionNo = regionAgency.getAgencyNo();
-                    // AI 분석 결과와 중복되지 않는 경우에만 추가 매핑
-                    if (aiAgencyNo == null || !aiAgencyNo.equals(regionNo)) {
-                        complaintMapper.insertComplaintAgency(complaintNo, regionNo);
-                    }
+        // B. 관할 지자체 매핑 (좌표가 경계 안이면 해당 시도, 아니면 주소의 시/도 기반)
+        String regionName = null;
+        if (geocoded.isFound()) {
+            regionName = geocoded.sidoName();
+        } else if (complaint.getAddress() != null && !complaint.getAddress().isEmpty()) {
+            regionName = normalizeRegionName(complaint.getAddress().split(" ")[0]);
+        }
+        if (regionName != null) {
+            Agency regionAgency = agencyMapper.selectAgencyByName(regionName);
+
+            if (regionAgency != null) {
+                Long regionNo = regionAgency.getAgencyNo();
+                // AI 분석 결과와 중복되지 않는 경우에만 추가 매핑
+                if (aiAgencyNo == null || !aiAgencyNo.equals(regionNo)) {
+                    complaintMapper.insertComplaintAgency(complaintNo, regionNo);
+                    assignedAgencyNos.add(regionNo);
                 }
             }
         }
 
+        // 5. 목록 조회용 기관/지역 프로젝션 갱신 (목록 쿼리의 JOIN/서브쿼리 제거용)
+        complaintMapper.refreshComplaintProjection(complaintNo);
+
+        // 6. 변경 이벤트 발행 (통계/인덱스는 커밋 이후 반영)
+        complaint.setCreatedDate(java.time.OffsetDateTime.now());
+        eventPublisher.publishEvent(com.safeguard.event.ComplaintChangeEvent.created(
+                com.safeguard.event.ComplaintSnapshot.of(complaint, assignedAgencyNos),
+                complaintMapper.selectCurrentTxid()));
+
         return complaintNo;
     }
 
@@ -232,8 +258,13 @@ public class ComplaintServiceImpl implements ComplaintService {
 
         Map<String, Object> stats = new java.util.HashMap<>();
 
+        // 통계 엔진이 적재된 경우 버킷 집계로 응답 (미적재 시 SQL 집계로 대체)
+        boolean fromEngine = dashboardStatsEngine.isReady();
+
         // 1. 상태별 요약 정보 (전체, 오늘, 접수, 처리중, 완료 및 SLA 준수율 포함)
-        com.safeguard.dto.ComplaintStatsDTO summary = complaintMapper.selectComplaintStats(agencyNo, category);
+        com.safeguard.dto.ComplaintStatsDTO summary = fromEngine
+                ? dashboardStatsEngine.summary(agencyNo, category)
+                : complaintMapper.selectComplaintStats(agencyNo, category);
         if (summary != null) {
             stats.put("summary", summary);
         } else {
@@ -241,17 +272,23 @@ public class ComplaintServiceImpl implements ComplaintService {
         }
 
         // 2. 카테고리별 민원 건수 분포
-        stats.put("categoryStats", complaintMapper.selectCategoryStats(agencyNo));
+        stats.put("categoryStats", fromEngine
+                ? dashboardStatsEngine.categoryStats(agencyNo)
+                : complaintMapper.selectCategoryStats(agencyNo));
 
         // 3. 최근 N기간 트렌드 추이 (카테고리 필터링 및 시간 단위 적용)
         log.info("트렌드 조회 - 카테고리: {}, 시간단위: {}", category, timeBasis);
-        stats.put("monthlyTrend", complaintMapper.selectMonthlyTrend(category, timeBasis, agencyNo));
+        stats.put("monthlyTrend", getComplaintTrend(agencyNo, category, timeBasis, null, null));
 
         // 4. 자치구별 미처리 민원이 많은 곳 (병목 구간 TOP 10)
-        stats.put("bottleneck", complaintMapper.selectAgencyBottleneck(agencyNo));
+        stats.put("bottleneck", fromEngine
+                ? dashboardStatsEngine.bottleneck(agencyNo)
+                : complaintMapper.selectAgencyBottleneck(agencyNo));
 
         // 5. 자치구별 처리가 지연된(3일 초과) 민원 명수 (TOP 10)
-        stats.put("bottleneckOverdue", complaintMapper.selectDistrictOverdue(agencyNo));
+        stats.put("bottleneckOverdue", fromEngine
+                ? dashboardStatsEngine.districtOverdue(agencyNo)
+                : complaintMapper.selectDistrictOverdue(agencyNo));
 
         // 6. 민원인의 연령대별 분포 통계
         stats.put("ageGroupStats", complaintMapper.selectAgeGroupStats(agencyNo));
@@ -265,6 +302,81 @@ public class ComplaintServiceImpl implements ComplaintService {
         return stats;
     }
 
+    // 트렌드 조회 시 허용하는 최대 버킷 수 (예: HOUR 단위로 수년 조회 방지)
+    private static final int MAX_TREND_BUCKETS = 1000;
+
+    /**
+     * 기간 단위별 민원 트렌드
+     * - SQL 은 데이터가 있는 버킷만 한 번의 집계로 반환하고, 빈 버킷은 여기서 0으로 채운다.
+     */
+    @Override
+    public java.util.List<Map<String, Object>> getComplaintTrend(Long agencyNo, String category, String timeBasis,
+            java.time.LocalDate from, java.time.LocalDate to) {
+        com.safeguard.enums.TrendGranularity granularity = com.safeguard.enums.TrendGranularity.from(timeBasis);
+
+        // 집계 구간 [start, end)
+        LocalDateTime end = (to != null)
+                ? to.plusDays(1).atStartOfDay()
+                : granularity.plus(granularity.truncate(LocalDateTime.now()), 1);
+        LocalDateTime start = (from != null)
+                ? granularity.truncate(from.atStartOfDay())
+                : granularity.plus(granularity.truncate(end.minusNanos(1)), -(granularity.getDefaultBuckets() - 1));
+
+        if (!start.isBefore(end)) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "조회 기간이 올바르지 않습니다.");
+        }
+
+        java.util.List<LocalDateTime> buckets = new java.util.ArrayList<>();
+        for (LocalDateTime b = start; b.isBefore(end); b = granularity.plus(b, 1)) {
+            if (buckets.size() >= MAX_TREND_BUCKETS) {
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_REQUEST,
+                        "조회 구간이 너무 깁니다. 집계 단위를 늘리거나 기간을 줄여주세요.");
+            }
+            buckets.add(b);
+        }
+
+        Map<LocalDateTime, Map<String, Object>> rows = new java.util.HashMap<>();
+        for (Map<String, Object> row : complaintMapper.selectMonthlyTrend(
+                category, granularity.getUnit(), start, end, agencyNo)) {
+            LocalDateTime bucket = toLocalDateTime(row.get("bucket"));
+            if (bucket != null) {
+                rows.put(bucket, row);
+            }
+        }
+
+        java.util.List<Map<String, Object>> trend = new java.util.ArrayList<>(buckets.size());
+        for (LocalDateTime bucket : buckets) {
+            Map<String, Object> row = rows.get(bucket);
+            int slaMet = row != null ? intValue(row.get("sla_met")) : 0;
+            int slaTotal = row != null ? intValue(row.get("sla_total")) : 0;
+
+            Map<String, Object> item = new java.util.LinkedHashMap<>();
+            item.put("month", granularity.format(bucket)); // 기존 응답 키 유지 (단위와 무관하게 라벨)
+            item.put("bucket", bucket.toString());
+            item.put("received", row != null ? intValue(row.get("received")) : 0);
+            item.put("completed", row != null ? intValue(row.get("completed")) : 0);
+            item.put("sla_rate", slaTotal == 0 ? 0.0 : Math.round(slaMet * 1000.0 / slaTotal) / 10.0);
+            trend.add(item);
+        }
+        return trend;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime ldt) {
+            return ldt;
+        }
+        if (value instanceof java.sql.Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return null;
+    }
+
+    private static int intValue(Object value) {
+        return value instanceof Number n ? n.intValue() : 0;
+    }
+
     /**
      * 파일 로그 기록을 위한 헬퍼 메서드
      */
@@ -287,22 +399,22 @@ public class ComplaintServiceImpl implements ComplaintService {
         Long viewerAgencyNo = (role != null && role.equals("AGENCY")) ? agencyNo : null;
         Long safeUserNo = (userNo != null) ? userNo : 0L;
 
-        com.safeguard.dto.ComplaintDTO c = complaintMapper.findByComplaintNo(complaintNo, safeUserNo, viewerAgencyNo)
+        // 조회자와 무관한 상세 정보는 캐시에서 조회 (공유 객체이므로 수정 금지)
+        com.safeguard.dto.ComplaintDTO c = complaintDetailCache
+                .get(complaintNo, no -> complaintMapper.findByComplaintNo(no, 0L, null))
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "Complaint not found"));
 
-        // 🎯 [Strict] Java Logic: assignedAgencyNos 기반으로 isAssignedToMe 재계산
-        if (viewerAgencyNo != null) {
-            java.util.List<Long> assignedList = c.getAssignedAgencyNos();
-            if (assignedList.contains(viewerAgencyNo)) {
-                c.setIsAssignedToMe(true);
-            }
-        }
+        // 조회자별 필드: 내 반응 / 내 글 여부 / 담당 기관 여부
+        String myReaction = (safeUserNo > 0) ? complaintMapper.findReactionByUser(complaintNo, safeUserNo) : null;
+        boolean isMyPost = c.getUserNo() != null && c.getUserNo().equals(safeUserNo);
+        // 🎯 [Strict] Java Logic: assignedAgencyNos 기반으로 isAssignedToMe 계산
+        boolean isAssignedToMe = viewerAgencyNo != null && c.getAssignedAgencyNos().contains(viewerAgencyNo);
 
         // [Strict Access Control] 비공개 민원 접근 제어
         if (Boolean.FALSE.equals(c.getIsPublic())) {
-            boolean isWriter = Boolean.TRUE.equals(c.getIsMyPost());
-            boolean isAssigned = Boolean.TRUE.equals(c.getIsAssignedToMe());
+            boolean isWriter = isMyPost;
+            boolean isAssigned = isAssignedToMe;
             boolean isAdmin = role != null && role.equals("ADMIN");
 
             // 작성자, 담당자, 관리자 중 어느 하나도 해당하지 않으면 차단
@@ -332,9 +444,9 @@ public class ComplaintServiceImpl implements ComplaintService {
         result.put("authorName", c.getAuthorName() != null ? c.getAuthorName() : "익명");
         result.put("answer", c.getAnswer());
         result.put("assignedAgencyText", c.getAssignedAgencyText());
-        result.put("myReaction", c.getMyReaction());
-        result.put("isMyPost", c.getIsMyPost());
-        result.put("isAssignedToMe", c.getIsAssignedToMe()); // Frontend Logic Key
+        result.put("myReaction", myReaction);
+        result.put("isMyPost", isMyPost);
+        result.put("isAssignedToMe", isAssignedToMe); // Frontend Logic Key
         result.put("assignedAgencyNos", c.getAssignedAgencyNos()); // For Debug
         result.put("likeCount", c.getLikeCount());
         result.put("dislikeCount", c.getDislikeCount());
@@ -370,6 +482,9 @@ public class ComplaintServiceImpl implements ComplaintService {
 
         // 4. Soft Delete 수행
         complaintMapper.updateStatus(complaintNo, ComplaintStatus.DELETED.name());
+        complaintDetailCache.evict(complaintNo);
+        eventPublisher.publishEvent(com.safeguard.event.ComplaintChangeEvent.deleted(
+                com.safeguard.event.ComplaintSnapshot.of(c), complaintMapper.selectCurrentTxid()));
         log.info("민원 삭제 처리 완료 (Soft Delete) - ID: {}, User: {}, Agency: {}", complaintNo, userNo, agencyNo);
     }
 
@@ -403,6 +518,11 @@ public class ComplaintServiceImpl implements ComplaintService {
 
         // 4. Update
         complaintMapper.updateStatus(complaintNo, status);
+        complaintDetailCache.evict(complaintNo);
+        com.safeguard.event.ComplaintSnapshot before = com.safeguard.event.ComplaintSnapshot.of(c);
+        eventPublisher.publishEvent(com.safeguard.event.ComplaintChangeEvent.updated(
+                before, before.withStatus(status, java.time.OffsetDateTime.now()),
+                complaintMapper.selectCurrentTxid()));
         log.info("민원 상태 변경(Service) - ID: {}, Status: {}, By: {}", complaintNo, status, userNo);
 
         // 5. Notification Trigger (Non-blocking)
@@ -446,6 +566,11 @@ public class ComplaintServiceImpl implements ComplaintService {
 
         // 4. Update
         complaintMapper.updateAnswer(complaintNo, answer);
+        complaintDetailCache.evict(complaintNo);
+        com.safeguard.event.ComplaintSnapshot before = com.safeguard.event.ComplaintSnapshot.of(c);
+        eventPublisher.publishEvent(com.safeguard.event.ComplaintChangeEvent.updated(
+                before, before.touched(java.time.OffsetDateTime.now()),
+                complaintMapper.selectCurrentTxid()));
         log.info("민원 답변 등록(Service) - ID: {}, By: {}", complaintNo, userNo);
 
         // 5. Notification Trigger (Non-blocking)
@@ -462,4 +587,77 @@ public class ComplaintServiceImpl implements ComplaintService {
             }
         }
     }
+
+    /**
+     * estimate 모드에서 세는 최대 행 수 (이 이상이면 "N+"로 취급)
+     */
+    private static final int ESTIMATE_COUNT_CAP = 10000;
+
+    /**
+     * 민원 목록 커서(키셋) 페이징 조회
+     */
+    @Override
+    public Map<String, Object> getComplaintsByCursor(Map<String, Object> params, String cursor, String countMode) {
+        String sort = com.safeguard.common.ComplaintCursor.normalizeSort((String) params.get("sort"));
+        String order = com.safeguard.common.ComplaintCursor.normalizeOrder((String) params.get("order"));
+        int limit = (Integer) params.get("limit");
+
+        Map<String, Object> query = new HashMap<>(params);
+        query.put("sort", sort);
+        query.put("order", order);
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        query.put("fetchSize", limit + 1);
+
+        if (cursor != null && !cursor.isBlank()) {
+            com.safeguard.common.ComplaintCursor decoded;
+            try {
+                decoded = com.safeguard.common.ComplaintCursor.decode(cursor, sort, order);
+            } catch (IllegalArgumentException e) {
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            query.put("cursorNo", decoded.getComplaintNo());
+            query.put("cursorCreatedDate", decoded.getCreatedDateKey());
+            query.put("cursorLikeCount", decoded.getLikeCountKey());
+        }
+
+        java.util.List<ComplaintDTO> rows = complaintMapper.findAllByCursor(query);
+        boolean hasNext = rows.size() > limit;
+        java.util.List<ComplaintDTO> complaints = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ComplaintDTO last = complaints.get(complaints.size() - 1);
+            String sortKey = null;
+            if ("created_date".equals(sort)) {
+                sortKey = last.getCreatedDate().toString();
+            } else if ("likeCount".equals(sort)) {
+                sortKey = String.valueOf(last.getLikeCount() != null ? last.getLikeCount() : 0);
+            }
+            nextCursor = new com.safeguard.common.ComplaintCursor(sort, order, sortKey, last.getComplaintNo())
+                    .encode();
+        }
+
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("limit", limit);
+        pagination.put("hasNext", hasNext);
+        pagination.put("nextCursor", nextCursor);
+
+        // 전체 개수: exact 는 기존 countAll, estimate 는 상한까지만 세어 비용을 제한
+        if ("exact".equals(countMode)) {
+            // 정규화된 정렬 기준으로 (커서 모드는 relevance 미지원 - 관련도 후보 조건이 붙지 않도록)
+            pagination.put("totalCount", complaintMapper.countAll(query));
+            pagination.put("totalCountExact", true);
+        } else if ("estimate".equals(countMode)) {
+            query.put("countCap", ESTIMATE_COUNT_CAP + 1);
+            long bounded = complaintMapper.countAllBounded(query);
+            pagination.put("totalCount", Math.min(bounded, ESTIMATE_COUNT_CAP));
+            pagination.put("totalCountExact", bounded <= ESTIMATE_COUNT_CAP);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("complaints", complaints);
+        response.put("pagination", pagination);
+        return response;
+    }
 }
@@ -3,6 +3,9 @@ package com.safeguard.service.impl;
 import com.safeguard.dto.UserDTO;
 import com.safeguard.mapper.ComplaintMapper;
 import com.safeguard.mapper.UserMapper;
+import com.safeguard.security.PrincipalResolver;
+import com.safeguard.security.TokenRevocationRegistry;
+import com.safeguard.service.ComplaintDetailCache;
 import com.safeguard.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +21,10 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final ComplaintMapper complaintMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ComplaintDetailCache complaintDetailCache;
+    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final PrincipalResolver principalResolver;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     @Override
     public UserDTO getUserProfile(Long userNo) {
@@ -38,6 +45,7 @@ public class UserServiceImpl implements UserService {
         existingUser.setBirthDate(userDTO.getBirthDate());
 
         userMapper.updateUser(existingUser);
+        principalResolver.evict(existingUser.getUserId());
     }
 
     @Override
@@ -56,19 +64,23 @@ public class UserServiceImpl implements UserService {
 
         // 비밀번호 암호화 및 업데이트
         userMapper.updateUserPassword(user.getUserId(), passwordEncoder.encode(newPassword));
+        principalResolver.evict(user.getUserId());
     }
 
     @Override
     @Transactional
     public void deleteAccount(Long userNo) {
-        if (!userMapper.selectUserByUserNo(userNo).isPresent()) {
-            throw new RuntimeException("사용자를 찾을 수 없습니다.");
-        }
+        UserDTO user = userMapper.selectUserByUserNo(userNo)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
         
         // 유저가 작성한 민원 및 관련 데이터 삭제 (연쇄 삭제 지원용)
         complaintMapper.deleteByUserNo(userNo);
+        complaintDetailCache.evictAll();
+        eventPublisher.publishEvent(new com.safeguard.event.ComplaintBulkChangeEvent("account-deleted"));
         
         userMapper.deleteUserByUserNo(userNo);
+        principalResolver.evict(user.getUserId());
+        tokenRevocationRegistry.revoke(user.getUserId());
     }
 
     /**
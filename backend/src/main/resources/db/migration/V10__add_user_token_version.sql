@@ -0,0 +1,5 @@
+-- JWT 토큰 버전: 토큰 발급 시 클레임(tv)에 담고, 인증 시 DB 값과 비교한다.
+-- 탈퇴 / 비밀번호 재설정 / 권한·소속 기관 변경 시 1 증가 → 그 이전에 발급된 토큰은 모든 노드에서 무효
+-- (재기동해도 유지되는 폐기 기준, 노드별 캐시는 짧은 TTL 로만 보관)
+
+ALTER TABLE app_user ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
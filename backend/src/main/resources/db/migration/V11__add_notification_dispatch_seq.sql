@@ -0,0 +1,18 @@
+-- 알림 전송 순번: outbox 디스패처가 선점할 때 부여 (선점은 advisory lock 으로 직렬화 → 순번 순서 = 커밋 순서)
+-- SSE 이벤트 id / 재연결 재전송 기준으로 notification_id 대신 사용한다.
+-- (notification_id 는 INSERT 시점 순서라, 먼저 번호를 받은 트랜잭션이 늦게 커밋되면 재전송에서 빠질 수 있음)
+
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS dispatch_seq BIGINT;
+
+CREATE SEQUENCE IF NOT EXISTS notification_dispatch_seq;
+
+-- 기존 전송분은 알림 번호를 그대로 순번으로 (클라이언트가 가진 Last-Event-ID 가 계속 유효)
+UPDATE notification SET dispatch_seq = notification_id
+WHERE dispatched_at IS NOT NULL AND dispatch_seq IS NULL;
+
+SELECT setval('notification_dispatch_seq', COALESCE((SELECT MAX(notification_id) FROM notification), 0) + 1, false);
+
+-- 재연결 재전송 조회 (사용자별 순번 이후)
+CREATE INDEX IF NOT EXISTS idx_notification_user_dispatch_seq
+ON notification(user_no, dispatch_seq)
+WHERE dispatch_seq IS NOT NULL;
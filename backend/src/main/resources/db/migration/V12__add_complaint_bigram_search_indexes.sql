@@ -0,0 +1,17 @@
+-- 2글자 검색어용 바이그램 인덱스
+-- 트라이그램(V4)은 '%도로%' 같은 2글자 검색어에서 뽑을 수 있는 트라이그램이 없어 인덱스를 쓰지 못하고
+-- 전체 스캔이 된다. (한글 민원 검색어는 2글자가 많음)
+-- 제목/본문의 2글자 조각 배열을 GIN 으로 색인하고, 2글자 검색어는 배열 포함(@>)으로 찾는다.
+-- 2글자 검색어에서는 "조각 포함" = "부분 문자열 포함" 이므로 ILIKE 와 결과가 같다.
+
+CREATE OR REPLACE FUNCTION text_bigrams(t text) RETURNS text[]
+LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE AS $$
+    SELECT COALESCE(array_agg(DISTINCT substr(lower(t), i, 2)), '{}')
+    FROM generate_series(1, char_length(t) - 1) AS i
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_complaint_title_bigram
+ON complaint USING GIN (text_bigrams(title));
+
+CREATE INDEX IF NOT EXISTS idx_complaint_content_bigram
+ON complaint USING GIN (text_bigrams(content));
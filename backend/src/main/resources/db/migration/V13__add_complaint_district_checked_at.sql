@@ -0,0 +1,15 @@
+-- 시군구 코드 백필 판정 시각
+-- 경계 밖 좌표(해외/해상 등)는 district_code 가 계속 NULL 이라, 판정 여부를 따로 남기지 않으면
+-- 기동/시드 때마다 같은 행을 다시 역지오코딩하게 된다. 판정한 행은 결과와 무관하게 시각을 기록한다.
+-- (경계 데이터가 바뀌어 다시 판정해야 하면 district_checked_at 을 NULL 로 되돌린다)
+
+ALTER TABLE complaint ADD COLUMN IF NOT EXISTS district_checked_at TIMESTAMPTZ;
+
+-- 이미 코드가 있는 민원은 판정 완료
+UPDATE complaint SET district_checked_at = CURRENT_TIMESTAMP
+WHERE district_code IS NOT NULL AND district_checked_at IS NULL;
+
+-- 백필 대상(미판정)만 담는 부분 인덱스
+CREATE INDEX IF NOT EXISTS idx_complaint_district_unchecked
+ON complaint(complaint_no)
+WHERE district_code IS NULL AND district_checked_at IS NULL;
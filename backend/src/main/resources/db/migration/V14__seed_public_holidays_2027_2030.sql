@@ -0,0 +1,22 @@
+-- 음력 공휴일 / 대체공휴일 / 선거일 추가 등록 (V6 는 2026 년까지만 등록)
+-- 등록되지 않은 해는 설날/추석이 영업일로 계산되어 SLA/지연 판정이 틀어진다.
+-- 다음 등록 기한: 2030 년 중 (BusinessDayCalendar 가 다음 해 설날 미등록 시 오류 로그를 남긴다)
+
+INSERT INTO public_holiday (holiday_date, holiday_name) VALUES
+    ('2026-06-03', '전국동시지방선거'),
+    ('2027-02-05', '설날'), ('2027-02-06', '설날'), ('2027-02-07', '설날'), ('2027-02-08', '대체공휴일'),
+    ('2027-05-13', '부처님오신날'), ('2027-08-16', '대체공휴일'),
+    ('2027-09-14', '추석'), ('2027-09-15', '추석'), ('2027-09-16', '추석'),
+    ('2027-10-04', '대체공휴일'), ('2027-10-11', '대체공휴일'), ('2027-12-27', '대체공휴일'),
+    ('2028-01-25', '설날'), ('2028-01-26', '설날'), ('2028-01-27', '설날'),
+    ('2028-04-12', '국회의원선거'), ('2028-05-02', '부처님오신날'),
+    ('2028-10-02', '추석'), ('2028-10-03', '추석'), ('2028-10-04', '추석'), ('2028-10-05', '대체공휴일'),
+    ('2029-02-12', '설날'), ('2029-02-13', '설날'), ('2029-02-14', '설날'),
+    ('2029-05-07', '대체공휴일'), ('2029-05-20', '부처님오신날'), ('2029-05-21', '대체공휴일'),
+    ('2029-09-21', '추석'), ('2029-09-22', '추석'), ('2029-09-23', '추석'), ('2029-09-24', '대체공휴일'),
+    ('2030-02-02', '설날'), ('2030-02-03', '설날'), ('2030-02-04', '설날'), ('2030-02-05', '대체공휴일'),
+    ('2030-05-06', '대체공휴일'), ('2030-05-09', '부처님오신날'),
+    ('2030-09-11', '추석'), ('2030-09-12', '추석'), ('2030-09-13', '추석')
+ON CONFLICT (holiday_date) DO NOTHING;
+
+SELECT refresh_business_day_calendar();
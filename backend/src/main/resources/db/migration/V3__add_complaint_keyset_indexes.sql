@@ -0,0 +1,14 @@
+-- 민원 목록 커서(키셋) 페이징용 복합 인덱스
+-- (정렬 키, complaint_no) 행 비교 조건이 인덱스 범위 스캔으로 처리되도록 한다.
+
+-- created_date 정렬 (ASC / DESC 모두 정/역방향 스캔으로 처리)
+CREATE INDEX IF NOT EXISTS idx_complaint_created_no
+ON complaint(created_date, complaint_no);
+
+-- likeCount 정렬 (like_count DESC, complaint_no DESC)
+CREATE INDEX IF NOT EXISTS idx_complaint_like_no
+ON complaint((COALESCE(like_count, 0)), complaint_no);
+
+-- likeCount 정렬 (like_count DESC, complaint_no ASC) - 부호 반전 식 인덱스
+CREATE INDEX IF NOT EXISTS idx_complaint_neg_like_no
+ON complaint((-COALESCE(like_count, 0)), complaint_no);
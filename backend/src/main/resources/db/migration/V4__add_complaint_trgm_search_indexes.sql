@@ -0,0 +1,11 @@
+-- 민원 제목/본문 검색용 트라이그램 인덱스
+-- ILIKE '%검색어%' 조건과 관련도(word_similarity) 정렬이 GIN 인덱스를 사용하도록 한다.
+-- (한글 트라이그램 추출을 위해 DB는 UTF-8 인코딩 + C 이외 로케일이어야 함)
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_complaint_title_trgm
+ON complaint USING GIN (title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_complaint_content_trgm
+ON complaint USING GIN (content gin_trgm_ops);
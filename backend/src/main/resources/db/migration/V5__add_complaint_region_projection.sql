@@ -0,0 +1,45 @@
+-- 민원 목록용 기관/지역 프로젝션 컬럼
+-- 목록 조회(findAll, selectComplaintList)에서 complaint_agency/agency 상관 서브쿼리와
+-- LEFT JOIN + GROUP BY 를 제거하기 위해 민원 등록(기관 매핑) 시점에 값을 저장한다.
+
+ALTER TABLE complaint ADD COLUMN IF NOT EXISTS primary_agency_no BIGINT;
+ALTER TABLE complaint ADD COLUMN IF NOT EXISTS primary_agency_name VARCHAR(200);
+ALTER TABLE complaint ADD COLUMN IF NOT EXISTS region_code VARCHAR(20);
+ALTER TABLE complaint ADD COLUMN IF NOT EXISTS region_name VARCHAR(200);
+
+-- 기존 민원 백필 (refreshComplaintProjection 과 동일한 규칙)
+UPDATE complaint c
+SET primary_agency_no = (
+        SELECT MAX(ca.agency_no) FROM complaint_agency ca
+        WHERE ca.complaint_no = c.complaint_no
+    ),
+    primary_agency_name = (
+        SELECT MAX(a.agency_name)
+        FROM complaint_agency ca
+        JOIN agency a ON ca.agency_no = a.agency_no
+        WHERE ca.complaint_no = c.complaint_no
+    ),
+    region_code = (
+        SELECT a_reg.region_code
+        FROM complaint_agency ca_reg
+        JOIN agency a_reg ON ca_reg.agency_no = a_reg.agency_no
+        WHERE ca_reg.complaint_no = c.complaint_no AND a_reg.agency_type = 'LOCAL'
+        ORDER BY a_reg.agency_no ASC
+        LIMIT 1
+    ),
+    region_name = (
+        SELECT a_reg.agency_name
+        FROM complaint_agency ca_reg
+        JOIN agency a_reg ON ca_reg.agency_no = a_reg.agency_no
+        WHERE ca_reg.complaint_no = c.complaint_no AND a_reg.agency_type = 'LOCAL'
+        ORDER BY a_reg.agency_no ASC
+        LIMIT 1
+    );
+
+-- 지역 필터 + 최신순 목록
+CREATE INDEX IF NOT EXISTS idx_complaint_region_no
+ON complaint(region_code, complaint_no);
+
+-- 기관 필터(EXISTS)용: 기관 -> 민원 방향 조회
+CREATE INDEX IF NOT EXISTS idx_complaint_agency_agency_complaint
+ON complaint_agency(agency_no, complaint_no);
@@ -0,0 +1,53 @@
+-- 영업일 달력: 공휴일 테이블 + 누적 영업일 서수 테이블
+-- SLA/지연 계산 시 경과 영업일 = ordinal(종료일) - ordinal(접수일) 로 구한다.
+-- 공휴일을 추가/수정한 뒤에는 SELECT refresh_business_day_calendar(); 를 실행해야 한다.
+
+CREATE TABLE IF NOT EXISTS public_holiday (
+    holiday_date DATE PRIMARY KEY,
+    holiday_name VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS business_day_calendar (
+    cal_date DATE PRIMARY KEY,
+    is_business_day BOOLEAN NOT NULL,
+    -- 기준일(2000-01-01)부터 해당 일자까지(포함)의 누적 영업일 수
+    business_day_ordinal INTEGER NOT NULL
+);
+
+-- 고정 공휴일 (2000 ~ 2040)
+INSERT INTO public_holiday (holiday_date, holiday_name)
+SELECT make_date(y, m, d), name
+FROM generate_series(2000, 2040) AS y,
+     (VALUES (1, 1, '신정'), (3, 1, '삼일절'), (5, 5, '어린이날'), (6, 6, '현충일'),
+             (8, 15, '광복절'), (10, 3, '개천절'), (10, 9, '한글날'), (12, 25, '성탄절')) AS f(m, d, name)
+ON CONFLICT (holiday_date) DO NOTHING;
+
+-- 음력 공휴일 및 대체공휴일 (연도별 등록 필요)
+INSERT INTO public_holiday (holiday_date, holiday_name) VALUES
+    ('2024-02-09', '설날'), ('2024-02-10', '설날'), ('2024-02-11', '설날'), ('2024-02-12', '대체공휴일'),
+    ('2024-05-06', '대체공휴일'), ('2024-05-15', '부처님오신날'),
+    ('2024-09-16', '추석'), ('2024-09-17', '추석'), ('2024-09-18', '추석'),
+    ('2025-01-28', '설날'), ('2025-01-29', '설날'), ('2025-01-30', '설날'),
+    ('2025-03-03', '대체공휴일'), ('2025-05-06', '대체공휴일'),
+    ('2025-10-05', '추석'), ('2025-10-06', '추석'), ('2025-10-07', '추석'), ('2025-10-08', '대체공휴일'),
+    ('2026-02-16', '설날'), ('2026-02-17', '설날'), ('2026-02-18', '설날'),
+    ('2026-03-02', '대체공휴일'), ('2026-05-24', '부처님오신날'), ('2026-05-25', '대체공휴일'),
+    ('2026-08-17', '대체공휴일'),
+    ('2026-09-24', '추석'), ('2026-09-25', '추석'), ('2026-09-26', '추석'),
+    ('2026-10-05', '대체공휴일')
+ON CONFLICT (holiday_date) DO NOTHING;
+
+-- 달력 재계산 함수 (주말 + public_holiday 제외)
+CREATE OR REPLACE FUNCTION refresh_business_day_calendar() RETURNS void AS $$
+    DELETE FROM business_day_calendar;
+    INSERT INTO business_day_calendar (cal_date, is_business_day, business_day_ordinal)
+    SELECT d, bd, SUM(CASE WHEN bd THEN 1 ELSE 0 END) OVER (ORDER BY d)
+    FROM (
+        SELECT gs::date AS d,
+               EXTRACT(ISODOW FROM gs) < 6
+                   AND NOT EXISTS (SELECT 1 FROM public_holiday h WHERE h.holiday_date = gs::date) AS bd
+        FROM generate_series('2000-01-01'::date, '2040-12-31'::date, '1 day') AS gs
+    ) days;
+$$ LANGUAGE sql;
+
+SELECT refresh_business_day_calendar();
@@ -0,0 +1,5 @@
+-- 트렌드 집계(완료 이벤트)의 completed_date 범위 조건용 인덱스
+-- (접수 이벤트는 기존 created_date 인덱스 사용)
+CREATE INDEX IF NOT EXISTS idx_complaint_completed_date
+ON complaint(completed_date)
+WHERE completed_date IS NOT NULL;
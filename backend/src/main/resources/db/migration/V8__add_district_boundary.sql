@@ -0,0 +1,22 @@
+-- 행정구역(시군구) 경계 + 민원별 시군구 코드
+-- district 는 애플리케이션 기동 시 번들 경계 파일(geo/sigungu.geojson)로 갱신된다. (DistrictBoundaryIndex)
+-- complaint.district_code 는 등록 시점에 좌표의 point-in-polygon 결과로 저장하며,
+-- 기존 민원은 기동 시 일괄 백필한다. 경계 밖 좌표는 NULL (집계 시 주소 규칙으로 대체)
+
+CREATE TABLE IF NOT EXISTS district (
+    district_code INTEGER PRIMARY KEY,
+    sido_name VARCHAR(50) NOT NULL,
+    district_name VARCHAR(50) NOT NULL,
+    -- 지도 통계(selectDistrictCounts) 표시 이름: 서울은 '서울특별시 강남구', 광역시는 시 단위
+    map_name VARCHAR(100) NOT NULL,
+    geom GEOMETRY(MultiPolygon, 4326),
+    updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_district_geom ON district USING GIST (geom);
+
+ALTER TABLE complaint ADD COLUMN IF NOT EXISTS district_code INTEGER;
+
+-- 시군구 집계(미처리/지연 TOP 10, 지도 통계)
+CREATE INDEX IF NOT EXISTS idx_complaint_district_status
+ON complaint(district_code, status);
@@ -0,0 +1,14 @@
+-- 알림 outbox: notification 행을 민원 변경과 같은 트랜잭션에서 기록하고,
+-- 커밋 이후 디스패처(NotificationOutboxDispatcher)가 미전송 행을 모아 SSE 로 보낸다.
+-- dispatched_at IS NULL = 아직 전송 전 (롤백된 트랜잭션의 행은 남지 않으므로 커밋된 알림만 전송된다)
+
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS dispatched_at TIMESTAMPTZ;
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS dispatch_attempts INTEGER NOT NULL DEFAULT 0;
+
+-- 기존 알림은 이미 전송된 것으로 간주
+UPDATE notification SET dispatched_at = created_at WHERE dispatched_at IS NULL;
+
+-- 미전송 행만 담는 부분 인덱스 (디스패처 배치 조회)
+CREATE INDEX IF NOT EXISTS idx_notification_undispatched
+ON notification(notification_id)
+WHERE dispatched_at IS NULL;
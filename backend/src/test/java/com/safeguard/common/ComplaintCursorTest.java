@@ -0,0 +1,81 @@
+package com.safeguard.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ComplaintCursorTest {
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTripsCreatedDateCursor() {
+        String createdDate = "2026-03-01T09:30:00+09:00";
+        String token = new ComplaintCursor("created_date", "ASC", createdDate, 42L).encode();
+
+        ComplaintCursor decoded = ComplaintCursor.decode(token, "created_date", "ASC");
+
+        assertThat(decoded.getComplaintNo()).isEqualTo(42L);
+        assertThat(decoded.getCreatedDateKey()).isEqualTo(OffsetDateTime.parse(createdDate));
+        assertThat(decoded.getLikeCountKey()).isNull();
+    }
+
+    @Test
+    void roundTripsLikeCountCursor() {
+        String token = new ComplaintCursor("likeCount", "DESC", "17", 7L).encode();
+
+        ComplaintCursor decoded = ComplaintCursor.decode(token, "likeCount", "DESC");
+
+        assertThat(decoded.getLikeCountKey()).isEqualTo(17);
+        assertThat(decoded.getCreatedDateKey()).isNull();
+    }
+
+    @Test
+    void unknownSortFallsBackToComplaintNo() {
+        // relevance 등 커서 미지원 정렬은 complaint_no 로 정규화 - 같은 정규화 결과면 재사용 가능
+        String token = new ComplaintCursor("relevance", "desc", null, 100L).encode();
+
+        ComplaintCursor decoded = ComplaintCursor.decode(token, null, null);
+
+        assertThat(decoded.getSort()).isEqualTo("complaint_no");
+        assertThat(decoded.getOrder()).isEqualTo("DESC");
+        assertThat(decoded.getSortKey()).isNull();
+        assertThat(decoded.getComplaintNo()).isEqualTo(100L);
+    }
+
+    @Test
+    void rejectsCursorFromDifferentSort() {
+        String token = new ComplaintCursor("created_date", "DESC", "2026-03-01T00:00:00Z", 1L).encode();
+
+        assertThatThrownBy(() -> ComplaintCursor.decode(token, "likeCount", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("정렬 조건");
+        assertThatThrownBy(() -> ComplaintCursor.decode(token, "created_date", "ASC"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> ComplaintCursor.decode("not base64!", "complaint_no", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 버전 불일치 / 필드 수 불일치
+        assertThatThrownBy(() -> ComplaintCursor.decode(token("v0|complaint_no|DESC||1"), "complaint_no", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ComplaintCursor.decode(token("v1|complaint_no|DESC|1"), "complaint_no", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 번호 / 정렬 키 형식 오류는 SQL 바인딩 전에 거부
+        assertThatThrownBy(() -> ComplaintCursor.decode(token("v1|complaint_no|DESC||abc"), "complaint_no", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ComplaintCursor.decode(token("v1|created_date|DESC|yesterday|1"), "created_date", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ComplaintCursor.decode(token("v1|likeCount|DESC|many|1"), "likeCount", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
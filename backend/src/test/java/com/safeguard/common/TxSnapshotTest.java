@@ -0,0 +1,44 @@
+package com.safeguard.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TxSnapshotTest {
+
+    @Test
+    void parsesInProgressList() {
+        TxSnapshot snapshot = TxSnapshot.parse("100:105:101,103");
+
+        assertThat(snapshot.xmin()).isEqualTo(100);
+        assertThat(snapshot.xmax()).isEqualTo(105);
+        assertThat(snapshot.inProgress()).containsExactlyInAnyOrder(101L, 103L);
+    }
+
+    @Test
+    void seesOnlyTransactionsCommittedBeforeSnapshot() {
+        TxSnapshot snapshot = TxSnapshot.parse("100:105:101,103");
+
+        assertThat(snapshot.sees(99L)).isTrue();   // xmin 이전
+        assertThat(snapshot.sees(102L)).isTrue();  // 범위 안, 진행 중 목록에 없음
+        assertThat(snapshot.sees(101L)).isFalse(); // 스냅샷 시점에 진행 중 → 이후 커밋
+        assertThat(snapshot.sees(105L)).isFalse(); // xmax 이후 시작
+        assertThat(snapshot.sees(null)).isFalse();
+    }
+
+    @Test
+    void emptyInProgressList() {
+        TxSnapshot snapshot = TxSnapshot.parse("200:200:");
+
+        assertThat(snapshot.inProgress()).isEmpty();
+        assertThat(snapshot.sees(199L)).isTrue();
+        assertThat(snapshot.sees(200L)).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedText() {
+        assertThatThrownBy(() -> TxSnapshot.parse("100:105"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.safeguard.config;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKBWriter;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.io.WKTWriter;
+
+import java.util.Random;
+
+/**
+ * 도형 변환 비용 비교 (WKT 문자열 vs EWKB 바이너리) - DB 없이 핸들러의 직렬화/역직렬화 구간만 측정
+ * 실행: 테스트 클래스패스에서 main 실행 (JUnit 테스트 아님)
+ */
+public class WkbGeometryTypeHandlerBenchmark {
+
+    private static final int POINTS = 100_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        GeometryFactory factory = new GeometryFactory(new PrecisionModel(), 4326);
+        Random random = new Random(42);
+        Geometry[] geoms = new Geometry[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            // 서울 인근 좌표
+            geoms[i] = factory.createPoint(new Coordinate(126.8 + random.nextDouble() * 0.4,
+                    37.4 + random.nextDouble() * 0.3));
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long wkt = runWkt(geoms);
+            long wkb = runWkb(geoms);
+            System.out.printf("round %d - WKT: %d ms, EWKB: %d ms%n", round, wkt / 1_000_000, wkb / 1_000_000);
+        }
+    }
+
+    /**
+     * 기존 WKT 핸들러 경로 (호출마다 WKTWriter/WKTReader 생성, ST_GeomFromText 입력)
+     */
+    private static long runWkt(Geometry[] geoms) throws Exception {
+        long started = System.nanoTime();
+        double checksum = 0;
+        for (Geometry g : geoms) {
+            String text = new WKTWriter().write(g);
+            checksum += new WKTReader().read(text).getCoordinate().x;
+        }
+        blackhole(checksum);
+        return System.nanoTime() - started;
+    }
+
+    /**
+     * WkbGeometryTypeHandler 경로 (조회 시 geometry 컬럼은 16진 EWKB 텍스트로 수신)
+     */
+    private static long runWkb(Geometry[] geoms) throws Exception {
+        long started = System.nanoTime();
+        double checksum = 0;
+        for (Geometry g : geoms) {
+            String hex = WKBWriter.toHex(WkbGeometryTypeHandler.toEwkb(g));
+            checksum += WkbGeometryTypeHandler.parseGeometry(hex).getCoordinate().x;
+        }
+        blackhole(checksum);
+        return System.nanoTime() - started;
+    }
+
+    private static void blackhole(double value) {
+        if (value == 42.0) {
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.safeguard.enums;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendGranularityTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2026, 10, 15, 13, 47, 12); // 목요일
+
+    @Test
+    void truncatesLikeDateTrunc() {
+        assertThat(TrendGranularity.YEAR.truncate(T)).isEqualTo(LocalDateTime.of(2026, 1, 1, 0, 0));
+        assertThat(TrendGranularity.MONTH.truncate(T)).isEqualTo(LocalDateTime.of(2026, 10, 1, 0, 0));
+        // ISO 주: 월요일 시작
+        assertThat(TrendGranularity.WEEK.truncate(T)).isEqualTo(LocalDateTime.of(2026, 10, 12, 0, 0));
+        assertThat(TrendGranularity.WEEK.truncate(LocalDateTime.of(2026, 10, 12, 0, 0)))
+                .isEqualTo(LocalDateTime.of(2026, 10, 12, 0, 0));
+        assertThat(TrendGranularity.DAY.truncate(T)).isEqualTo(LocalDateTime.of(2026, 10, 15, 0, 0));
+        assertThat(TrendGranularity.HOUR.truncate(T)).isEqualTo(LocalDateTime.of(2026, 10, 15, 13, 0));
+    }
+
+    @Test
+    void stepsAndLabelsBuckets() {
+        LocalDateTime week = TrendGranularity.WEEK.truncate(T);
+        assertThat(TrendGranularity.WEEK.plus(week, 1)).isEqualTo(LocalDateTime.of(2026, 10, 19, 0, 0));
+        assertThat(TrendGranularity.MONTH.plus(LocalDateTime.of(2026, 12, 1, 0, 0), 1))
+                .isEqualTo(LocalDateTime.of(2027, 1, 1, 0, 0));
+
+        assertThat(TrendGranularity.YEAR.format(T)).isEqualTo("2026");
+        assertThat(TrendGranularity.MONTH.format(T)).isEqualTo("2026-10");
+        assertThat(TrendGranularity.WEEK.format(week)).isEqualTo("2026-10-12");
+        assertThat(TrendGranularity.DAY.format(T)).isEqualTo("10-15");
+        assertThat(TrendGranularity.HOUR.format(TrendGranularity.HOUR.truncate(T))).isEqualTo("10-15 13:00");
+    }
+
+    @Test
+    void parsesRequestValueWithMonthFallback() {
+        assertThat(TrendGranularity.from("week")).isEqualTo(TrendGranularity.WEEK);
+        assertThat(TrendGranularity.from(" HOUR ")).isEqualTo(TrendGranularity.HOUR);
+        assertThat(TrendGranularity.from(null)).isEqualTo(TrendGranularity.MONTH);
+        assertThat(TrendGranularity.from("")).isEqualTo(TrendGranularity.MONTH);
+        assertThat(TrendGranularity.from("quarter")).isEqualTo(TrendGranularity.MONTH);
+    }
+}
@@ -0,0 +1,97 @@
+package com.safeguard.security;
+
+import com.safeguard.mapper.UserMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtTokenProviderTest {
+
+    private UserMapper userMapper;
+    private TokenRevocationRegistry registry;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        userMapper = mock(UserMapper.class);
+        registry = new TokenRevocationRegistry(userMapper, 60_000);
+        jwtTokenProvider = provider(registry);
+    }
+
+    private JwtTokenProvider provider(TokenRevocationRegistry registry) {
+        JwtTokenProvider provider = new JwtTokenProvider(mock(UserDetailsService.class), registry);
+        ReflectionTestUtils.setField(provider, "secretKey", "testSecretKeyForJwtTokenProviderTestMustBeLongEnough");
+        ReflectionTestUtils.setField(provider, "validityInMilliseconds", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "stateless", true);
+        provider.init();
+        return provider;
+    }
+
+    @Test
+    void authenticatesFromClaimsWhileVersionMatches() {
+        when(userMapper.selectTokenVersion("agency1")).thenReturn(3);
+        String token = jwtTokenProvider.createToken("agency1", "AGENCY", 10L, 7L, 3);
+
+        Authentication auth = jwtTokenProvider.authenticate(token);
+
+        assertThat(auth).isNotNull();
+        assertThat(auth.getPrincipal()).isInstanceOfSatisfying(CustomUserDetails.class, details -> {
+            assertThat(details.getUserNo()).isEqualTo(10L);
+            assertThat(details.getAgencyNo()).isEqualTo(7L);
+        });
+    }
+
+    @Test
+    void revokeRejectsPreviouslyIssuedToken() {
+        when(userMapper.selectTokenVersion("agency1")).thenReturn(0);
+        String token = jwtTokenProvider.createToken("agency1", "AGENCY", 10L, 7L, 0);
+        assertThat(jwtTokenProvider.authenticate(token)).isNotNull();
+
+        // 권한 변경 등으로 폐기 → DB 버전 증가
+        when(userMapper.selectTokenVersion("agency1")).thenReturn(1);
+        registry.revoke("agency1");
+
+        verify(userMapper).incrementTokenVersion("agency1");
+        assertThat(jwtTokenProvider.authenticate(token)).isNull();
+        // 새로 발급된 토큰은 현재 버전을 담으므로 유효
+        assertThat(jwtTokenProvider.authenticate(jwtTokenProvider.createToken("agency1", "AGENCY", 10L, 7L)))
+                .isNotNull();
+    }
+
+    @Test
+    void deletedUserTokenIsRejected() {
+        when(userMapper.selectTokenVersion("gone")).thenReturn(null);
+        String token = jwtTokenProvider.createToken("gone", "USER", 11L, null, 0);
+
+        assertThat(jwtTokenProvider.authenticate(token)).isNull();
+    }
+
+    @Test
+    void revocationOnAnotherNodeAppliesAfterCacheTtl() throws Exception {
+        // 다른 노드: 버전을 짧게 캐시, 폐기는 DB 로만 전달됨
+        JwtTokenProvider otherNode = provider(new TokenRevocationRegistry(userMapper, 50));
+        when(userMapper.selectTokenVersion("user1")).thenReturn(0);
+        String token = otherNode.createToken("user1", "USER", 12L, null, 0);
+        assertThat(otherNode.authenticate(token)).isNotNull();
+
+        when(userMapper.selectTokenVersion("user1")).thenReturn(1);
+        Thread.sleep(100);
+
+        assertThat(otherNode.authenticate(token)).isNull();
+    }
+
+    @Test
+    void failsClosedWhenVersionLookupFails() {
+        when(userMapper.selectTokenVersion("user1")).thenThrow(new IllegalStateException("db down"));
+        String token = jwtTokenProvider.createToken("user1", "USER", 12L, null, 0);
+
+        assertThat(jwtTokenProvider.authenticate(token)).isNull();
+    }
+}
@@ -0,0 +1,71 @@
+package com.safeguard.service;
+
+import com.safeguard.mapper.BusinessDayMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BusinessDayCalendarTest {
+
+    private BusinessDayCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        BusinessDayMapper mapper = mock(BusinessDayMapper.class);
+        when(mapper.selectPublicHolidays()).thenReturn(List.of(
+                LocalDate.of(2026, 9, 24), LocalDate.of(2026, 9, 25), // 추석 (목, 금)
+                LocalDate.of(2026, 9, 26), // 추석 (토) - 주말이라 계산에 영향 없음
+                LocalDate.of(2026, 10, 5))); // 대체공휴일 (월)
+        when(mapper.selectLastLunarHolidayYear()).thenReturn(2030);
+        calendar = new BusinessDayCalendar(mapper);
+    }
+
+    @Test
+    void skipsWeekendsAndWeekdayHolidays() {
+        assertThat(calendar.isBusinessDay(LocalDate.of(2026, 9, 23))).isTrue();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2026, 9, 24))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2026, 9, 26))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2026, 9, 27))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2026, 9, 28))).isTrue();
+    }
+
+    @Test
+    void countsBusinessDaysExcludingStartDate() {
+        // 9/22(화) 접수 → 9/23(수), 9/28(월), 9/29(화) ... 10/2(금): 수 + 월~금 = 6
+        assertThat(calendar.businessDaysBetween(LocalDate.of(2026, 9, 22), LocalDate.of(2026, 10, 2))).isEqualTo(6);
+        // 같은 날 / 역순은 0
+        assertThat(calendar.businessDaysBetween(LocalDate.of(2026, 9, 22), LocalDate.of(2026, 9, 22))).isZero();
+        assertThat(calendar.businessDaysBetween(LocalDate.of(2026, 9, 22), LocalDate.of(2026, 9, 1))).isZero();
+        // 연휴 구간만 있으면 0
+        assertThat(calendar.businessDaysBetween(LocalDate.of(2026, 9, 23), LocalDate.of(2026, 9, 27))).isZero();
+    }
+
+    @Test
+    void businessDaysBetweenMatchesDayByDayCount() {
+        LocalDate from = LocalDate.of(2026, 8, 27);
+        for (int span = 0; span < 70; span++) {
+            LocalDate to = from.plusDays(span);
+            long expected = from.plusDays(1).datesUntil(to.plusDays(1)).filter(calendar::isBusinessDay).count();
+            assertThat(calendar.businessDaysBetween(from, to)).as("~%s", to).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void plusBusinessDaysIsInverseOfBetween() {
+        LocalDate received = LocalDate.of(2026, 9, 22);
+
+        LocalDate due = calendar.plusBusinessDays(received, 3);
+
+        // 9/23(수) → 추석 연휴/주말 → 9/28(월), 9/29(화)
+        assertThat(due).isEqualTo(LocalDate.of(2026, 9, 29));
+        assertThat(calendar.businessDaysBetween(received, due)).isEqualTo(3);
+        // 대체공휴일(10/5) 건너뜀
+        assertThat(calendar.plusBusinessDays(LocalDate.of(2026, 10, 2), 1)).isEqualTo(LocalDate.of(2026, 10, 6));
+    }
+}
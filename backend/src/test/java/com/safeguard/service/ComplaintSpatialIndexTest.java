@@ -0,0 +1,209 @@
+package com.safeguard.service;
+
+import com.safeguard.dto.MapDeltaDto;
+import com.safeguard.dto.MapItemDto;
+import com.safeguard.dto.MapSearchRequest;
+import com.safeguard.event.ComplaintChangeEvent;
+import com.safeguard.event.ComplaintSnapshot;
+import com.safeguard.mapper.ComplaintGisMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ComplaintSpatialIndexTest {
+
+    private static final OffsetDateTime CREATED = OffsetDateTime.parse("2026-10-01T09:00:00+09:00");
+
+    private ComplaintGisMapper gisMapper;
+    private ComplaintSpatialIndex index;
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        gisMapper = mock(ComplaintGisMapper.class);
+        when(gisMapper.selectSpatialIndexEntries(null)).thenReturn(rows);
+        index = new ComplaintSpatialIndex(gisMapper, mock(DistrictBoundaryIndex.class), true, 600000, 2000, 10000);
+    }
+
+    private void row(long no, double lng, double lat) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("complaint_no", no);
+        row.put("lng", lng);
+        row.put("lat", lat);
+        row.put("category", "도로");
+        row.put("status", "UNPROCESSED");
+        row.put("title", "민원 " + no);
+        row.put("created_date", CREATED);
+        row.put("addr_text", "서울특별시 중구");
+        row.put("district_code", null);
+        row.put("agency_nos", "1");
+        rows.add(row);
+    }
+
+    private static MapSearchRequest viewport(double swLng, double swLat, double neLng, double neLat) {
+        MapSearchRequest req = new MapSearchRequest();
+        req.setSwLng(swLng);
+        req.setSwLat(swLat);
+        req.setNeLng(neLng);
+        req.setNeLat(neLat);
+        return req;
+    }
+
+    private static ComplaintSnapshot snapshot(long no, String category, double lng, double lat) {
+        return new ComplaintSnapshot(no, category, "UNPROCESSED", CREATED, CREATED, null,
+                "서울특별시 중구", lat, lng, List.of(1L));
+    }
+
+    @Test
+    void updateIsRebuiltFromEventWithoutQuery() {
+        row(1L, 5, 5);
+        index.reload();
+
+        // 도로 → 수질 (제목은 기존 항목에서 유지, DB 재조회 없음)
+        index.onComplaintChanged(ComplaintChangeEvent.updated(
+                snapshot(1L, "도로", 5, 5), snapshot(1L, "수질", 5, 5), 1L));
+
+        List<MapItemDto> markers = index.markers(viewport(0, 0, 10, 10), 10, 0);
+        assertThat(markers).singleElement().satisfies(m -> {
+            assertThat(m.getCategory()).isEqualTo("수질");
+            assertThat(m.getTitle()).isEqualTo("민원 1");
+        });
+        verify(gisMapper, never()).selectSpatialIndexEntries(anyLong());
+    }
+
+    @Test
+    void createdComplaintIsLoadedOnce() {
+        index.reload();
+        when(gisMapper.selectSpatialIndexEntries(7L)).thenAnswer(inv -> {
+            row(7L, 5, 5);
+            return List.of(rows.get(rows.size() - 1));
+        });
+
+        index.onComplaintChanged(ComplaintChangeEvent.created(snapshot(7L, "도로", 5, 5), 1L));
+
+        assertThat(index.markers(viewport(0, 0, 10, 10), 10, 0))
+                .extracting(MapItemDto::getComplaintNo).containsExactly(7L);
+        verify(gisMapper).selectSpatialIndexEntries(7L);
+    }
+
+    // =========================
+    // 뷰포트 델타
+    // =========================
+
+    private MapDeltaDto pan(MapSearchRequest req, long sinceVersion) {
+        // 직전 뷰포트 (0,0)~(6,6) → 현재 (4,4)~(10,10)
+        req.setPrevSwLng(0.0);
+        req.setPrevSwLat(0.0);
+        req.setPrevNeLng(6.0);
+        req.setPrevNeLat(6.0);
+        req.setSinceVersion(sinceVersion);
+        return index.delta(req, 100);
+    }
+
+    @Test
+    void deltaReturnsEnteringAndLeavingMarkers() {
+        row(1L, 1, 1); // 직전 뷰포트에만
+        row(2L, 5, 5); // 양쪽
+        row(3L, 9, 9); // 현재 뷰포트에만
+        index.reload();
+
+        MapDeltaDto delta = pan(viewport(4, 4, 10, 10), index.version());
+
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getVersion()).isEqualTo(index.version());
+        assertThat(delta.getAdded()).extracting(MapItemDto::getComplaintNo).containsExactly(3L);
+        assertThat(delta.getRemoved()).containsExactly(1L);
+    }
+
+    @Test
+    void deltaIncludesChangesSinceVersion() {
+        row(1L, 1, 1);
+        row(2L, 5, 5);
+        row(3L, 9, 9);
+        index.reload();
+        long since = index.version();
+
+        // 2번: 도로 → 수질
+        index.onComplaintChanged(ComplaintChangeEvent.updated(
+                snapshot(2L, "도로", 5, 5), snapshot(2L, "수질", 5, 5), 1L));
+
+        MapDeltaDto all = pan(viewport(4, 4, 10, 10), since);
+        assertThat(all.getAdded()).extracting(MapItemDto::getComplaintNo).containsExactly(3L, 2L);
+        assertThat(all.getAdded().get(1).getCategory()).isEqualTo("수질");
+        assertThat(all.getRemoved()).containsExactly(1L);
+
+        // 도로 필터: 변경으로 조건에서 빠진 2번은 removed
+        MapSearchRequest roads = viewport(4, 4, 10, 10);
+        roads.setCategory("도로");
+        MapDeltaDto filtered = pan(roads, since);
+        assertThat(filtered.getAdded()).extracting(MapItemDto::getComplaintNo).containsExactly(3L);
+        assertThat(filtered.getRemoved()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void deltaFallsBackToFullResponse() {
+        row(1L, 5, 5);
+        index.reload();
+
+        // 직전 정보 없음
+        MapDeltaDto noPrev = index.delta(viewport(4, 4, 10, 10), 100);
+        assertThat(noPrev.isFull()).isTrue();
+        assertThat(noPrev.getAdded()).extracting(MapItemDto::getComplaintNo).containsExactly(1L);
+
+        // 재적재 이전 버전 기준 → 변경분을 알 수 없음
+        long stale = index.version();
+        index.reload();
+        assertThat(pan(viewport(4, 4, 10, 10), stale).isFull()).isTrue();
+    }
+
+    // =========================
+    // 격자 층화 샘플링
+    // =========================
+
+    @Test
+    void sampledMarkersKeepOneMarkerPerSparseCell() {
+        // 뷰포트 10x10, limit 20 → 셀 크기 √5 (약 2.236)
+        // 밀집 셀 (0,0) 에 90건 (1~90번), 나머지 서로 다른 셀에 1건씩 10건 (91~100번)
+        for (int n = 1; n <= 90; n++) {
+            row(n, 0.1 + (n % 10) * 0.2, 0.1 + (n / 10) * 0.2);
+        }
+        double[][] sparse = { { 3, 3 }, { 3, 6 }, { 3, 8 }, { 6, 3 }, { 6, 6 }, { 6, 8 }, { 8, 3 }, { 8, 6 },
+                { 8, 8 }, { 9.9, 0.5 } };
+        for (int k = 0; k < sparse.length; k++) {
+            row(91 + k, sparse[k][0], sparse[k][1]);
+        }
+        index.reload();
+
+        List<MapItemDto> sampled = index.sampledMarkers(viewport(0, 0, 10, 10), 20);
+
+        // 할당량: 밀집 셀 ceil(20*90/100)=18, 단독 셀 1 → 단독 셀 10건 모두 + 밀집 셀 최신 10건
+        assertThat(sampled).hasSize(20);
+        assertThat(sampled).extracting(MapItemDto::getComplaintNo)
+                .containsExactlyInAnyOrder(100L, 99L, 98L, 97L, 96L, 95L, 94L, 93L, 92L, 91L,
+                        90L, 89L, 88L, 87L, 86L, 85L, 84L, 83L, 82L, 81L);
+        // 순번 1 라운드는 밀집 셀 대표부터
+        assertThat(sampled.get(0).getComplaintNo()).isEqualTo(90L);
+    }
+
+    @Test
+    void sampledMarkersReturnsAllWhenUnderLimit() {
+        row(1L, 1, 1);
+        row(2L, 1.1, 1.1);
+        index.reload();
+
+        assertThat(index.sampledMarkers(viewport(0, 0, 10, 10), 20))
+                .extracting(MapItemDto::getComplaintNo).containsExactly(2L, 1L);
+    }
+}
@@ -0,0 +1,72 @@
+package com.safeguard.service;
+
+import com.safeguard.dto.HotspotCellDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HexHotspotIndexTest {
+
+    @Test
+    void cellOfCenterReturnsSameCell() {
+        for (double size : HexHotspotIndex.RESOLUTIONS) {
+            for (long i = -5; i <= 5; i++) {
+                for (long j = -5; j <= 5; j++) {
+                    double[] center = HexHotspotIndex.center(size, i, j);
+                    assertThat(HexHotspotIndex.cellOf(size, center[0], center[1]))
+                            .as("size=%s (%d, %d)", size, i, j)
+                            .containsExactly(i, j);
+                }
+            }
+        }
+    }
+
+    @Test
+    void assignsPointToNearestCenter() {
+        // 육각 격자에서 소속 셀 = 중심이 가장 가까운 셀
+        Random random = new Random(42);
+        double size = HexHotspotIndex.RESOLUTIONS[0];
+        for (int n = 0; n < 2000; n++) {
+            double x = 126.5 + random.nextDouble();
+            double y = 37.0 + random.nextDouble();
+            long[] cell = HexHotspotIndex.cellOf(size, x, y);
+            double own = distance(HexHotspotIndex.center(size, cell[0], cell[1]), x, y);
+
+            for (long di = -1; di <= 1; di++) {
+                for (long dj = -1; dj <= 1; dj++) {
+                    double other = distance(HexHotspotIndex.center(size, cell[0] + di, cell[1] + dj), x, y);
+                    assertThat(own).as("(%s, %s)", x, y).isLessThanOrEqualTo(other + 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    void aggregateCountsPointsPerCell() {
+        double size = HexHotspotIndex.RESOLUTIONS[HexHotspotIndex.resolutionFor(null)];
+        double[] a = HexHotspotIndex.center(size, 84, 12);
+        double[] b = HexHotspotIndex.center(size, 85, 12);
+
+        List<HotspotCellDto> cells = HexHotspotIndex.aggregate(null, Stream.of(
+                a, new double[] { a[0] + size * 0.1, a[1] - size * 0.1 }, b));
+
+        assertThat(cells).hasSize(2);
+        assertThat(cells).filteredOn(c -> c.getI() == 84).singleElement()
+                .satisfies(c -> {
+                    assertThat(c.getCount()).isEqualTo(2L);
+                    assertThat(c.getCellId()).isEqualTo("84_12");
+                    assertThat(c.getLng()).isEqualTo(a[0]);
+                    assertThat(c.getLat()).isEqualTo(a[1]);
+                });
+        assertThat(cells).filteredOn(c -> c.getI() == 85).singleElement()
+                .extracting(HotspotCellDto::getCount).isEqualTo(1L);
+    }
+
+    private static double distance(double[] center, double x, double y) {
+        return Math.hypot(center[0] - x, center[1] - y);
+    }
+}
@@ -0,0 +1,125 @@
+package com.safeguard.service;
+
+import com.safeguard.dto.MapItemDto;
+import com.safeguard.dto.MapItemType;
+import com.safeguard.dto.MapSearchRequest;
+import com.safeguard.event.ComplaintChangeEvent;
+import com.safeguard.event.ComplaintSnapshot;
+import com.safeguard.mapper.ComplaintGisMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MapClusterIndexTest {
+
+    private static final int POINTS = 400;
+
+    private ComplaintGisMapper gisMapper;
+    private MapClusterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        gisMapper = mock(ComplaintGisMapper.class);
+        ComplaintSpatialIndex spatialIndex = mock(ComplaintSpatialIndex.class); // 미적재 → SQL 적재 경로
+        index = new MapClusterIndex(gisMapper, spatialIndex, new SimpleMeterRegistry(), 60, 300, 8, 60);
+
+        // 서울 시청 주변 0.01도 안에 400건 (1~400번)
+        List<MapItemDto> points = new ArrayList<>();
+        for (int i = 1; i <= POINTS; i++) {
+            MapItemDto p = new MapItemDto();
+            p.setType(MapItemType.MARKER);
+            p.setComplaintNo((long) i);
+            p.setLat(37.5665 + (i % 20) * 0.0005);
+            p.setLng(126.9780 + (i / 20) * 0.0005);
+            points.add(p);
+        }
+        when(gisMapper.selectMapPoints(any())).thenReturn(points);
+    }
+
+    private static MapSearchRequest request(int kakaoLevel, double swLat, double swLng, double neLat, double neLng) {
+        MapSearchRequest req = new MapSearchRequest();
+        req.setZoom(kakaoLevel);
+        req.setSwLat(swLat);
+        req.setSwLng(swLng);
+        req.setNeLat(neLat);
+        req.setNeLng(neLng);
+        return req;
+    }
+
+    private static MapSearchRequest nationwide(int kakaoLevel) {
+        return request(kakaoLevel, 33.0, 124.0, 39.0, 132.0);
+    }
+
+    private static ComplaintSnapshot complaint(long no, String category, Double lat, Double lng) {
+        return new ComplaintSnapshot(no, category, "UNPROCESSED", OffsetDateTime.now(), OffsetDateTime.now(), null,
+                "서울특별시 중구", lat, lng, List.of());
+    }
+
+    @Test
+    void zoomedOutDenseViewportReturnsClusters() {
+        List<MapItemDto> items = index.getItems(nationwide(12), 1000);
+
+        assertThat(items).hasSize(1);
+        MapItemDto cluster = items.get(0);
+        assertThat(cluster.getType()).isEqualTo(MapItemType.CLUSTER);
+        assertThat(cluster.getCount()).isEqualTo(POINTS); // 잘림 없이 전체 건수
+        assertThat(cluster.getClusterKey()).startsWith("8/");
+    }
+
+    @Test
+    void zoomedInReturnsNewestMarkers() {
+        List<MapItemDto> items = index.getItems(nationwide(1), 5);
+
+        assertThat(items).extracting(MapItemDto::getType).containsOnly(MapItemType.MARKER);
+        assertThat(items).extracting(MapItemDto::getComplaintNo).containsExactly(400L, 399L, 398L, 397L, 396L);
+    }
+
+    @Test
+    void sparseViewportReturnsMarkersAtAnyZoom() {
+        // 경도 0.0005 간격 21열 중 앞쪽 5열(1~99번)만 포함 - 임계값(300) 이하
+        List<MapItemDto> items = index.getItems(request(12, 37.56, 126.9779, 37.58, 126.9802), 1000);
+
+        assertThat(items).hasSize(99);
+        assertThat(items).extracting(MapItemDto::getType).containsOnly(MapItemType.MARKER);
+    }
+
+    @Test
+    void invalidatesOnlyIndexesMatchingTheChangedComplaint() {
+        MapSearchRequest all = nationwide(12);
+        MapSearchRequest roads = nationwide(12);
+        roads.setCategory("도로");
+        index.getItems(all, 1000);
+        index.getItems(roads, 1000);
+        verify(gisMapper, times(2)).selectMapPoints(any());
+
+        // 다른 카테고리 민원 변경 → 전체 필터만 재구성
+        index.onComplaintChanged(ComplaintChangeEvent.created(complaint(401L, "수질", 37.57, 126.98), 1L));
+        index.getItems(all, 1000);
+        index.getItems(roads, 1000);
+        verify(gisMapper, times(3)).selectMapPoints(any());
+
+        // 좌표 없는 민원은 어느 인덱스에도 없으므로 무효화 없음
+        index.onComplaintChanged(ComplaintChangeEvent.created(complaint(402L, "도로", null, null), 2L));
+        index.getItems(all, 1000);
+        index.getItems(roads, 1000);
+        verify(gisMapper, times(3)).selectMapPoints(any());
+
+        // 도로 → 수질로 변경: 변경 전 기준으로 도로 필터도 재구성
+        index.onComplaintChanged(ComplaintChangeEvent.updated(
+                complaint(403L, "도로", 37.57, 126.98), complaint(403L, "수질", 37.57, 126.98), 3L));
+        index.getItems(all, 1000);
+        index.getItems(roads, 1000);
+        verify(gisMapper, times(5)).selectMapPoints(any());
+    }
+}
@@ -0,0 +1,301 @@
+package com.safeguard.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationHubTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private NotificationHub hub;
+
+    @AfterEach
+    void tearDown() {
+        if (hub != null) {
+            hub.shutdown();
+        }
+    }
+
+    private NotificationHub hub(int sendThreads, long writeTimeoutMs) {
+        hub = new NotificationHub(64, NotificationHub.OverflowPolicy.DROP_OLDEST, sendThreads, 16, 50, 30, 1000,
+                5, 500, 90_000, writeTimeoutMs, registry);
+        return hub;
+    }
+
+    private NotificationHub hub(int queueCapacity, NotificationHub.OverflowPolicy overflowPolicy) {
+        hub = new NotificationHub(queueCapacity, overflowPolicy, 2, 16, 50, 30, 1000,
+                5, 500, 90_000, 60_000, registry);
+        return hub;
+    }
+
+    private static List<NotificationHub.ReplayEvent> noReplay(Long afterId, Integer limit) {
+        return List.of();
+    }
+
+    @Test
+    void slowClientDoesNotBlockOtherUsers() throws Exception {
+        NotificationHub hub = hub(2, 60_000);
+        BlockingEmitter slow = new BlockingEmitter();
+        hub.register(1L, slow, null, NotificationHubTest::noReplay);
+        assertThat(slow.entered.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // 송신 스레드 하나가 user 1 의 쓰기에 묶인 상태에서도 user 2 는 남은 스레드로 받아야 한다
+        RecordingEmitter fast = new RecordingEmitter();
+        hub.register(2L, fast, null, NotificationHubTest::noReplay);
+        hub.publishNotification(2L, 10L, "hello");
+
+        assertThat(fast.next()).contains("connected");
+        assertThat(fast.next()).contains("hello");
+        slow.release.countDown();
+    }
+
+    @Test
+    void writeTimeoutClosesStalledConnection() throws Exception {
+        NotificationHub hub = hub(1, 50);
+        BlockingEmitter slow = new BlockingEmitter();
+        hub.register(1L, slow, null, NotificationHubTest::noReplay);
+        assertThat(slow.entered.await(2, TimeUnit.SECONDS)).isTrue();
+
+        Thread.sleep(100);
+        hub.checkWriteTimeouts();
+
+        assertThat(slow.interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(hub.connectionCount()).isZero();
+        assertThat(hub.isLocalUser(1L)).isTrue(); // 재전송 버퍼는 유지
+        assertThat(registry.get("notification.sse.reaped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void saturatedPoolDefersDrainUntilWatchdogFreesThread() throws Exception {
+        // 송신 스레드 1개 + 대기열 1칸
+        hub = new NotificationHub(64, NotificationHub.OverflowPolicy.DROP_OLDEST, 1, 1, 50, 30, 1000,
+                5, 500, 90_000, 50, registry);
+        BlockingEmitter slow = new BlockingEmitter();
+        hub.register(1L, slow, null, NotificationHubTest::noReplay);
+        assertThat(slow.entered.await(2, TimeUnit.SECONDS)).isTrue();
+
+        RecordingEmitter queued = new RecordingEmitter(); // 대기열
+        hub.register(2L, queued, null, NotificationHubTest::noReplay);
+        RecordingEmitter deferred = new RecordingEmitter(); // 풀 포화 - 스레드를 새로 만들지 않고 미룸
+        hub.register(3L, deferred, null, NotificationHubTest::noReplay);
+        assertThat(queued.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(deferred.completed).isFalse();
+
+        // watchdog 이 막힌 쓰기를 정리해 스레드를 회수하면 대기/미룬 연결 순으로 전송
+        Thread.sleep(100);
+        for (int n = 0; n < 40 && deferred.sent.isEmpty(); n++) {
+            hub.checkWriteTimeouts();
+            Thread.sleep(50);
+        }
+        assertThat(queued.next()).contains("connected");
+        assertThat(deferred.next()).contains("connected");
+        assertThat(slow.interrupted.getCount()).isZero();
+    }
+
+    @Test
+    void replayFromDatabaseIsNotDeliveredTwice() throws Exception {
+        NotificationHub hub = hub(2, 60_000);
+        // 재연결 시 DB 에서 순번 11 까지 받았고, 같은 알림(11)이 버스로 뒤늦게 도착
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(1L, emitter, 10L,
+                (afterSeq, limit) -> List.of(new NotificationHub.ReplayEvent(11L, "n11")));
+        hub.publishNotification(1L, 11L, "n11");
+        hub.publishNotification(1L, 12L, "n12");
+
+        assertThat(emitter.next()).contains("connected");
+        assertThat(emitter.next()).contains("id:11", "data:n11");
+        assertThat(emitter.next()).contains("id:12", "data:n12");
+        assertThat(emitter.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void replayLoadDoesNotBlockPublishers() throws Exception {
+        NotificationHub hub = hub(2, 60_000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter();
+        // DB 조회 결과는 11, 12 - 조회 중 버스로 12(중복), 13 이 도착
+        Thread reconnect = new Thread(() -> hub.register(1L, emitter, 10L, (afterSeq, limit) -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(new NotificationHub.ReplayEvent(11L, "n11"), new NotificationHub.ReplayEvent(12L, "n12"));
+        }));
+        reconnect.start();
+        assertThat(loading.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // 조회가 끝나지 않아도 발행은 버퍼 락에 막히지 않는다
+        CompletableFuture.runAsync(() -> {
+            hub.publishNotification(1L, 12L, "n12");
+            hub.publishNotification(1L, 13L, "n13");
+        }).get(2, TimeUnit.SECONDS);
+        release.countDown();
+        reconnect.join(2000);
+
+        assertThat(emitter.next()).contains("connected");
+        assertThat(emitter.next()).contains("id:11", "data:n11");
+        assertThat(emitter.next()).contains("id:12", "data:n12");
+        assertThat(emitter.next()).contains("id:13", "data:n13");
+        assertThat(emitter.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void dropOldestKeepsNewestEventsWhenQueueIsFull() throws Exception {
+        NotificationHub hub = hub(3, NotificationHub.OverflowPolicy.DROP_OLDEST);
+        GatedEmitter emitter = new GatedEmitter();
+        hub.register(1L, emitter, null, NotificationHubTest::noReplay);
+        assertThat(emitter.entered.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // connect 이벤트 쓰기가 막힌 동안 5건 발행 → 큐(3)에는 최신 3건만 남는다
+        for (long seq = 1; seq <= 5; seq++) {
+            hub.publishNotification(1L, seq, "n" + seq);
+        }
+        emitter.release.countDown();
+
+        assertThat(emitter.next()).contains("connected");
+        assertThat(emitter.next()).contains("data:n3");
+        assertThat(emitter.next()).contains("data:n4");
+        assertThat(emitter.next()).contains("data:n5");
+        assertThat(emitter.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(hub.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectPolicyClosesConnectionOnOverflow() throws Exception {
+        NotificationHub hub = hub(2, NotificationHub.OverflowPolicy.DISCONNECT);
+        GatedEmitter emitter = new GatedEmitter();
+        hub.register(1L, emitter, null, NotificationHubTest::noReplay);
+        assertThat(emitter.entered.await(2, TimeUnit.SECONDS)).isTrue();
+
+        for (long seq = 1; seq <= 3; seq++) {
+            hub.publishNotification(1L, seq, "n" + seq);
+        }
+
+        assertThat(emitter.completed).isTrue();
+        assertThat(hub.connectionCount()).isZero();
+        // 재전송 버퍼에는 남아 있으므로 재연결 시 DB 조회 없이 받을 수 있다
+        assertThat(hub.isLocalUser(1L)).isTrue();
+        emitter.release.countDown();
+    }
+
+    @Test
+    void reconnectReplaysFromBufferWithoutLoader() throws Exception {
+        NotificationHub hub = hub(2, 60_000);
+        RecordingEmitter first = new RecordingEmitter();
+        hub.register(1L, first, null, NotificationHubTest::noReplay);
+        for (long seq = 1; seq <= 3; seq++) {
+            hub.publishNotification(1L, seq, "n" + seq);
+        }
+
+        RecordingEmitter second = new RecordingEmitter();
+        hub.register(1L, second, 1L, (afterSeq, limit) -> {
+            throw new AssertionError("버퍼가 순번 1 이후를 모두 가지고 있으므로 DB 조회 없음");
+        });
+
+        assertThat(second.next()).contains("connected");
+        assertThat(second.next()).contains("id:2", "data:n2");
+        assertThat(second.next()).contains("id:3", "data:n3");
+        assertThat(second.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void connectionCapClosesOldestConnection() throws Exception {
+        NotificationHub hub = hub(2, 60_000);
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int n = 0; n < 6; n++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            hub.register(1L, emitter, null, NotificationHubTest::noReplay);
+            Thread.sleep(5); // 연결 시각 구분
+        }
+
+        assertThat(hub.connectionCount()).isEqualTo(5);
+        assertThat(emitters.get(0).completed).isTrue();
+        assertThat(emitters.subList(1, 6)).noneMatch(e -> e.completed);
+        assertThat(registry.get("notification.sse.reaped").counter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * TCP 버퍼가 가득 찬 클라이언트 흉내 - 첫 쓰기에서 release 될 때까지 막힘
+     */
+    static class BlockingEmitter extends SseEmitter {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IOException("write interrupted", e);
+            }
+        }
+    }
+
+    /**
+     * 보낸 이벤트의 data 를 순서대로 기록
+     */
+    static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        volatile boolean completed = false;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sent.add(builder.build().stream()
+                    .map(d -> String.valueOf(d.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(2, TimeUnit.SECONDS);
+            assertThat(event).as("이벤트 수신").isNotNull();
+            return event;
+        }
+    }
+
+    /**
+     * 첫 쓰기(connect 이벤트)만 release 될 때까지 막히는 기록용 emitter
+     */
+    static class GatedEmitter extends RecordingEmitter {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (entered.getCount() > 0) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException("write interrupted", e);
+                }
+            }
+            super.send(builder);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.safeguard.service.impl;
+
+import com.safeguard.mapper.AgencyMapper;
+import com.safeguard.mapper.ComplaintMapper;
+import com.safeguard.service.ComplaintDetailCache;
+import com.safeguard.service.DashboardStatsEngine;
+import com.safeguard.service.FileService;
+import com.safeguard.service.NotificationService;
+import com.safeguard.service.ReverseGeocoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ComplaintServiceImplTrendTest {
+
+    private ComplaintMapper complaintMapper;
+    private ComplaintServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        complaintMapper = mock(ComplaintMapper.class);
+        service = new ComplaintServiceImpl(complaintMapper, mock(FileService.class), mock(AgencyMapper.class),
+                mock(ComplaintDetailCache.class), mock(DashboardStatsEngine.class), mock(ReverseGeocoder.class),
+                mock(ApplicationEventPublisher.class), mock(NotificationService.class));
+    }
+
+    @Test
+    void zeroFillsBucketsWithoutRows() {
+        // SQL 은 데이터가 있는 2월 버킷만 반환
+        when(complaintMapper.selectMonthlyTrend(isNull(), eq("month"), any(), any(), isNull()))
+                .thenReturn(List.of(Map.of(
+                        "bucket", Timestamp.valueOf(LocalDateTime.of(2026, 2, 1, 0, 0)),
+                        "received", 12L, "completed", 5L, "sla_met", 2L, "sla_total", 3L)));
+
+        List<Map<String, Object>> trend = service.getComplaintTrend(null, null, "MONTH",
+                LocalDate.of(2026, 1, 10), LocalDate.of(2026, 3, 31));
+
+        // 구간 [1/1, 4/1) - 시작일은 버킷 시작으로 내림, 종료일은 포함
+        verify(complaintMapper).selectMonthlyTrend(null, "month",
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 4, 1, 0, 0), null);
+        assertThat(trend).extracting(m -> m.get("month")).containsExactly("2026-01", "2026-02", "2026-03");
+        assertThat(trend).extracting(m -> m.get("received")).containsExactly(0, 12, 0);
+        assertThat(trend).extracting(m -> m.get("completed")).containsExactly(0, 5, 0);
+        assertThat(trend).extracting(m -> m.get("sla_rate")).containsExactly(0.0, 66.7, 0.0);
+    }
+
+    @Test
+    void weekBucketsStartOnMonday() {
+        when(complaintMapper.selectMonthlyTrend(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        List<Map<String, Object>> trend = service.getComplaintTrend(null, null, "week",
+                LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 14));
+
+        assertThat(trend).extracting(m -> m.get("month"))
+                .containsExactly("2026-09-28", "2026-10-05", "2026-10-12");
+    }
+
+    @Test
+    void rejectsTooManyBucketsAndInvertedRange() {
+        assertThatThrownBy(() -> service.getComplaintTrend(null, null, "HOUR",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1)))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> service.getComplaintTrend(null, null, "DAY",
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 2, 1)))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
@@ -11,6 +11,10 @@ DROP TABLE IF EXISTS complaint CASCADE;
 DROP TABLE IF EXISTS app_user CASCADE;
 DROP TABLE IF EXISTS agency CASCADE;
 DROP TABLE IF EXISTS notification CASCADE;
+DROP TABLE IF EXISTS business_day_calendar CASCADE;
+DROP TABLE IF EXISTS public_holiday CASCADE;
+DROP TABLE IF EXISTS district CASCADE;
+DROP SEQUENCE IF EXISTS notification_dispatch_seq;
 
 -- 2. 테이블 재생성
 
@@ -34,7 +38,8 @@ CREATE TABLE app_user (
     phone VARCHAR(20),
     created_date TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
     role VARCHAR(20) NOT NULL DEFAULT 'USER',
-    agency_no BIGINT REFERENCES agency(agency_no)
+    agency_no BIGINT REFERENCES agency(agency_no),
+    token_version INTEGER NOT NULL DEFAULT 0
 );
 
 -- Complaint (민원)
@@ -55,7 +60,16 @@ CREATE TABLE complaint (
     completed_date TIMESTAMPTZ,
     user_no BIGINT NOT NULL REFERENCES app_user(user_no) ON DELETE CASCADE,
     like_count INTEGER DEFAULT 0,
-    answer TEXT
+    answer TEXT,
+    -- 목록 조회용 기관/지역 프로젝션 (기관 매핑 시 갱신)
+    primary_agency_no BIGINT,
+    primary_agency_name VARCHAR(200),
+    region_code VARCHAR(20),
+    region_name VARCHAR(200),
+    -- 시군구 코드 (좌표 point-in-polygon, 경계 밖이면 NULL)
+    district_code INTEGER,
+    -- 시군구 코드 백필 판정 시각 (경계 밖 민원 재판정 방지)
+    district_checked_at TIMESTAMPTZ
 );
 
 -- Complaint Like (좋아요 / 싫어요)
@@ -75,6 +89,39 @@ CREATE TABLE complaint_agency (
     PRIMARY KEY (complaint_no, agency_no)
 );
 
+-- Complaint 인덱스
+-- 목록 커서(키셋) 페이징: (정렬 키, complaint_no) 행 비교 조건용
+CREATE INDEX IF NOT EXISTS idx_complaint_created_no
+ON complaint(created_date, complaint_no);
+CREATE INDEX IF NOT EXISTS idx_complaint_like_no
+ON complaint((COALESCE(like_count, 0)), complaint_no);
+CREATE INDEX IF NOT EXISTS idx_complaint_neg_like_no
+ON complaint((-COALESCE(like_count, 0)), complaint_no);
+
+-- 트렌드 집계(완료 이벤트)의 completed_date 범위 조건용
+CREATE INDEX IF NOT EXISTS idx_complaint_completed_date
+ON complaint(completed_date)
+WHERE completed_date IS NOT NULL;
+
+-- 제목/본문 검색: 3글자 이상은 트라이그램(ILIKE, 관련도 정렬), 2글자는 바이그램 배열 포함(@>)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_complaint_title_trgm
+ON complaint USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_complaint_content_trgm
+ON complaint USING GIN (content gin_trgm_ops);
+
+CREATE OR REPLACE FUNCTION text_bigrams(t text) RETURNS text[]
+LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE AS $$
+    SELECT COALESCE(array_agg(DISTINCT substr(lower(t), i, 2)), '{}')
+    FROM generate_series(1, char_length(t) - 1) AS i
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_complaint_title_bigram
+ON complaint USING GIN (text_bigrams(title));
+CREATE INDEX IF NOT EXISTS idx_complaint_content_bigram
+ON complaint USING GIN (text_bigrams(content));
+
 -- PostGIS Extension (필요 시 생성)
 CREATE EXTENSION IF NOT EXISTS postgis;
 
@@ -178,9 +225,18 @@ CREATE TABLE notification (
     read_at TIMESTAMPTZ,
 
     -- 알림 생성 시각
-    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- outbox: SSE 전송 시각 (NULL = 전송 전), 전송 시도 횟수
+    dispatched_at TIMESTAMPTZ,
+    dispatch_attempts INTEGER NOT NULL DEFAULT 0,
+
+    -- 전송 순번 (선점 시 부여, 커밋 순서 = SSE 이벤트 id)
+    dispatch_seq BIGINT
 );
 
+CREATE SEQUENCE notification_dispatch_seq;
+
 -- 조회 성능을 위한 인덱스
 CREATE INDEX idx_notification_user_no
     ON notification(user_no);
@@ -188,5 +244,102 @@ CREATE INDEX idx_notification_user_no
 CREATE INDEX idx_notification_user_no_is_read
     ON notification(user_no, is_read);
 
+CREATE INDEX idx_notification_undispatched
+    ON notification(notification_id)
+    WHERE dispatched_at IS NULL;
+
+CREATE INDEX idx_notification_user_dispatch_seq
+    ON notification(user_no, dispatch_seq)
+    WHERE dispatch_seq IS NOT NULL;
+
 CREATE INDEX idx_notification_complaint_no
     ON notification(complaint_no);
+
+-- ================================
+-- 영업일 달력 (SLA/지연 계산용)
+-- ================================
+-- 영업일 달력: 공휴일 테이블 + 누적 영업일 서수 테이블
+-- SLA/지연 계산 시 경과 영업일 = ordinal(종료일) - ordinal(접수일) 로 구한다.
+-- 공휴일을 추가/수정한 뒤에는 SELECT refresh_business_day_calendar(); 를 실행해야 한다.
+
+CREATE TABLE IF NOT EXISTS public_holiday (
+    holiday_date DATE PRIMARY KEY,
+    holiday_name VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS business_day_calendar (
+    cal_date DATE PRIMARY KEY,
+    is_business_day BOOLEAN NOT NULL,
+    -- 기준일(2000-01-01)부터 해당 일자까지(포함)의 누적 영업일 수
+    business_day_ordinal INTEGER NOT NULL
+);
+
+-- 고정 공휴일 (2000 ~ 2040)
+INSERT INTO public_holiday (holiday_date, holiday_name)
+SELECT make_date(y, m, d), name
+FROM generate_series(2000, 2040) AS y,
+     (VALUES (1, 1, '신정'), (3, 1, '삼일절'), (5, 5, '어린이날'), (6, 6, '현충일'),
+             (8, 15, '광복절'), (10, 3, '개천절'), (10, 9, '한글날'), (12, 25, '성탄절')) AS f(m, d, name)
+ON CONFLICT (holiday_date) DO NOTHING;
+
+-- 음력 공휴일 및 대체공휴일 (연도별 등록 필요)
+INSERT INTO public_holiday (holiday_date, holiday_name) VALUES
+    ('2024-02-09', '설날'), ('2024-02-10', '설날'), ('2024-02-11', '설날'), ('2024-02-12', '대체공휴일'),
+    ('2024-05-06', '대체공휴일'), ('2024-05-15', '부처님오신날'),
+    ('2024-09-16', '추석'), ('2024-09-17', '추석'), ('2024-09-18', '추석'),
+    ('2025-01-28', '설날'), ('2025-01-29', '설날'), ('2025-01-30', '설날'),
+    ('2025-03-03', '대체공휴일'), ('2025-05-06', '대체공휴일'),
+    ('2025-10-05', '추석'), ('2025-10-06', '추석'), ('2025-10-07', '추석'), ('2025-10-08', '대체공휴일'),
+    ('2026-02-16', '설날'), ('2026-02-17', '설날'), ('2026-02-18', '설날'),
+    ('2026-03-02', '대체공휴일'), ('2026-05-24', '부처님오신날'), ('2026-05-25', '대체공휴일'),
+    ('2026-08-17', '대체공휴일'),
+    ('2026-09-24', '추석'), ('2026-09-25', '추석'), ('2026-09-26', '추석'),
+    ('2026-10-05', '대체공휴일'),
+    ('2026-06-03', '전국동시지방선거'),
+    ('2027-02-05', '설날'), ('2027-02-06', '설날'), ('2027-02-07', '설날'), ('2027-02-08', '대체공휴일'),
+    ('2027-05-13', '부처님오신날'), ('2027-08-16', '대체공휴일'),
+    ('2027-09-14', '추석'), ('2027-09-15', '추석'), ('2027-09-16', '추석'),
+    ('2027-10-04', '대체공휴일'), ('2027-10-11', '대체공휴일'), ('2027-12-27', '대체공휴일'),
+    ('2028-01-25', '설날'), ('2028-01-26', '설날'), ('2028-01-27', '설날'),
+    ('2028-04-12', '국회의원선거'), ('2028-05-02', '부처님오신날'),
+    ('2028-10-02', '추석'), ('2028-10-03', '추석'), ('2028-10-04', '추석'), ('2028-10-05', '대체공휴일'),
+    ('2029-02-12', '설날'), ('2029-02-13', '설날'), ('2029-02-14', '설날'),
+    ('2029-05-07', '대체공휴일'), ('2029-05-20', '부처님오신날'), ('2029-05-21', '대체공휴일'),
+    ('2029-09-21', '추석'), ('2029-09-22', '추석'), ('2029-09-23', '추석'), ('2029-09-24', '대체공휴일'),
+    ('2030-02-02', '설날'), ('2030-02-03', '설날'), ('2030-02-04', '설날'), ('2030-02-05', '대체공휴일'),
+    ('2030-05-06', '대체공휴일'), ('2030-05-09', '부처님오신날'),
+    ('2030-09-11', '추석'), ('2030-09-12', '추석'), ('2030-09-13', '추석')
+ON CONFLICT (holiday_date) DO NOTHING;
+
+-- 달력 재계산 함수 (주말 + public_holiday 제외)
+CREATE OR REPLACE FUNCTION refresh_business_day_calendar() RETURNS void AS $$
+    DELETE FROM business_day_calendar;
+    INSERT INTO business_day_calendar (cal_date, is_business_day, business_day_ordinal)
+    SELECT d, bd, SUM(CASE WHEN bd THEN 1 ELSE 0 END) OVER (ORDER BY d)
+    FROM (
+        SELECT gs::date AS d,
+               EXTRACT(ISODOW FROM gs) < 6
+                   AND NOT EXISTS (SELECT 1 FROM public_holiday h WHERE h.holiday_date = gs::date) AS bd
+        FROM generate_series('2000-01-01'::date, '2040-12-31'::date, '1 day') AS gs
+    ) days;
+$$ LANGUAGE sql;
+
+SELECT refresh_business_day_calendar();
+
+-- ================================
+-- 행정구역(시군구) 경계
+-- ================================
+-- 경계/이름은 애플리케이션 기동 시 번들 경계 파일로 채워지고, 민원 district_code 도 그때 백필된다.
+CREATE TABLE IF NOT EXISTS district (
+    district_code INTEGER PRIMARY KEY,
+    sido_name VARCHAR(50) NOT NULL,
+    district_name VARCHAR(50) NOT NULL,
+    map_name VARCHAR(100) NOT NULL,
+    geom GEOMETRY(MultiPolygon, 4326),
+    updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_district_geom ON district USING GIST (geom);
+CREATE INDEX IF NOT EXISTS idx_complaint_district_status ON complaint(district_code, status);
+CREATE INDEX IF NOT EXISTS idx_complaint_district_unchecked ON complaint(complaint_no)
+    WHERE district_code IS NULL AND district_checked_at IS NULL;